@@ -0,0 +1,116 @@
+package com.github.hubbards.algorithms.graph;
+
+import java.util.Arrays;
+
+/**
+ * AdjacencyList is a growable list of the edges leaving a vertex, kept as a
+ * primitive column of head indices and a {@link CostColumn} of costs rather
+ * than one object per edge. An edge takes eight bytes with float or integer
+ * storage, and twelve bytes with double storage, plus unused capacity.
+ *
+ * @author Spencer Hubbard
+ */
+final class AdjacencyList {
+    // Capacity of list after first edge is added.
+    private static final int INITIAL_CAPACITY = 2;
+    // Empty column of heads shared by empty lists.
+    private static final int[] EMPTY = new int[0];
+
+    // Index of head of each edge.
+    private int[] heads;
+    // Cost of each edge, or null until first edge is added.
+    private CostColumn costs;
+    // Storage of edge costs.
+    private final CostStorage storage;
+    // Number of edges in list.
+    private int size;
+
+    /**
+     * Constructs an empty list with given storage of edge costs.
+     *
+     * @param storage the storage of edge costs.
+     */
+    AdjacencyList(CostStorage storage) {
+        this.storage = storage;
+        heads = EMPTY;
+        costs = null;
+        size = 0;
+    }
+
+    /**
+     * Returns the number of edges in this list.
+     *
+     * @return the number of edges in this list.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the index of the head of the edge at a given position.
+     *
+     * @param i the given position.
+     * @return the index of the head of the edge at the given position.
+     */
+    int head(int i) {
+        return heads[i];
+    }
+
+    /**
+     * Returns the cost of the edge at a given position.
+     *
+     * @param i the given position.
+     * @return the cost of the edge at the given position.
+     */
+    double cost(int i) {
+        return costs.get(i);
+    }
+
+    /**
+     * Sets the cost of the edge at a given position, which must already be
+     * rounded to the precision of this list.
+     *
+     * @param i    the given position.
+     * @param cost the new cost of the edge.
+     */
+    void setCost(int i, double cost) {
+        costs.set(i, cost);
+    }
+
+    /**
+     * Returns the position of the edge with a given head, or <code>-1</code>
+     * if this list has no such edge.
+     *
+     * @param head the index of the given head.
+     * @return the position of the edge with the given head, or
+     * <code>-1</code>.
+     */
+    int indexOf(int head) {
+        for (int i = 0; i < size; i++) {
+            if (heads[i] == head) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds an edge with given head and cost to this list. The cost must
+     * already be rounded to the precision of this list.
+     *
+     * @param head the index of the head of the edge.
+     * @param cost the cost of the edge.
+     */
+    void add(int head, double cost) {
+        if (size == heads.length) {
+            // double capacity
+            int capacity = Math.max(INITIAL_CAPACITY, 2 * size);
+            heads = Arrays.copyOf(heads, capacity);
+            costs = costs == null ? CostColumn.create(storage, capacity)
+                    : costs.copyOf(capacity);
+        }
+        heads[size] = head;
+        costs.set(size, cost);
+        size++;
+    }
+}
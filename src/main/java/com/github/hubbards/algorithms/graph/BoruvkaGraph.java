@@ -0,0 +1,323 @@
+package com.github.hubbards.algorithms.graph;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * BoruvkaGraph represents a weighted, connected, simple graph with positive
+ * edge costs. The minimum spanning tree is found using Boruvka's algorithm,
+ * running on many threads at once.
+ * <p>
+ * The algorithm proceeds in rounds. In each round, the minimum cost edge
+ * leaving each component is found by scanning the edges in parallel, then the
+ * components are joined along those edges in parallel using a
+ * {@link ConcurrentDisjointSet}. Each round at least halves the number of
+ * components, so there are at most <em>log(n)</em> rounds. Edges with equal
+ * cost are ordered by the order in which they were added, so the edges chosen
+ * in a round never form a cycle.
+ * <p>
+ * Edges are kept in primitive arrays, so graphs with millions of edges do not
+ * need an object per edge. The computed cost is the same as the cost computed
+ * by {@link PrimGraph} and {@link KruskalGraph} for the same edges.
+ *
+ * @author Spencer Hubbard
+ * @see WeightedGraph
+ */
+public class BoruvkaGraph extends WeightedGraph {
+    // Minimum number of edges or vertices scanned by a single task.
+    private static final int THRESHOLD = 1 << 13;
+    // Default capacity of edge arrays.
+    private static final int DEFAULT_CAPACITY = 16;
+    // Marker for component without minimum cost edge.
+    private static final int NONE = -1;
+
+    // Map name of vertex to index of vertex.
+    private Map<String, Integer> map;
+    // Set of pairs of end-point indices of each edge, smaller index first.
+    private Set<Long> pairs;
+    // Index of one end-point of each edge.
+    private int[] tails;
+    // Index of other end-point of each edge.
+    private int[] heads;
+    // Cost of each edge.
+    private double[] costs;
+    // Number of edges in this graph.
+    private int m;
+
+    /**
+     * Construct graph object.
+     */
+    public BoruvkaGraph() {
+        map = new HashMap<String, Integer>();
+        pairs = new HashSet<Long>();
+        tails = new int[DEFAULT_CAPACITY];
+        heads = new int[DEFAULT_CAPACITY];
+        costs = new double[DEFAULT_CAPACITY];
+        m = 0;
+    }
+
+    @Override
+    public boolean containsVertex(String name) {
+        checkNotNull(name);
+        return map.containsKey(name);
+    }
+
+    @Override
+    public boolean containsEdge(String name1, String name2) {
+        if (containsVertex(name1) && containsVertex(name2)) {
+            // graph contains end-points
+            return pairs.contains(pair(map.get(name1), map.get(name2)));
+        }
+        // graph does not contain edge
+        return false;
+    }
+
+    @Override
+    public void addVertex(String name) {
+        // check preconditions
+        if (containsVertex(name)) {
+            throw new GraphException("vertex already exists");
+        }
+        // map name to index of vertex
+        map.put(name, map.size());
+    }
+
+    /**
+     * Adds an edge to this graph with given end-points and cost.
+     *
+     * @param name1 the name of one end-point.
+     * @param name2 the name of the other end-point.
+     * @param cost  the cost of the given edge.
+     * @throws GraphException if end-points don't exist, edge is not simple, or
+     *                        cost is non-positive.
+     */
+    @Override
+    public void addWeightedEdge(String name1, String name2, double cost) {
+        // check preconditions
+        if (!containsVertex(name1) || !containsVertex(name2)) {
+            throw new GraphException("end-point(s) not found");
+        }
+        if (containsEdge(name1, name2)) {
+            throw new GraphException("multiple edge");
+        }
+        if (name1.equals(name2)) {
+            throw new GraphException("loop");
+        }
+        if (cost <= 0) {
+            throw new GraphException("non-positive edge cost");
+        }
+        // add edge to graph
+        if (m == tails.length) {
+            tails = Arrays.copyOf(tails, 2 * m);
+            heads = Arrays.copyOf(heads, 2 * m);
+            costs = Arrays.copyOf(costs, 2 * m);
+        }
+        int u = map.get(name1);
+        int v = map.get(name2);
+        tails[m] = u;
+        heads[m] = v;
+        costs[m] = cost;
+        m++;
+        pairs.add(pair(u, v));
+    }
+
+    /**
+     * Finds the cost of a minimum spanning tree of this graph using Boruvka's
+     * algorithm in the common fork/join pool.
+     *
+     * @return cost of a minimum spanning tree.
+     * @throws GraphException if this graph is not connected.
+     */
+    public double minimumSpanningTreeCost() {
+        return minimumSpanningTreeCost(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Finds the cost of a minimum spanning tree of this graph using Boruvka's
+     * algorithm in a given fork/join pool.
+     *
+     * @param pool the fork/join pool which runs the search.
+     * @return cost of a minimum spanning tree.
+     * @throws GraphException if this graph is not connected.
+     */
+    public double minimumSpanningTreeCost(ForkJoinPool pool) {
+        checkNotNull(pool);
+        return boruvka(pool);
+    }
+
+    /*
+     * Finds the minimum spanning tree of this graph using Boruvka's algorithm.
+     *
+     * NOTE: Uses concurrent disjoint sets data structure.
+     * NOTE: The time-complexity is O(m * log(n)) work in O(log(n)) rounds,
+     *       where m is the number of edges and n is the number of vertices.
+     */
+    private double boruvka(ForkJoinPool pool) {
+        int n = map.size();
+        DisjointSet sets = new ConcurrentDisjointSet(n);
+        AtomicIntegerArray cheapest = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) {
+            cheapest.set(i, NONE);
+        }
+        double cost = 0;
+        while (sets.componentCount() > 1) {
+            // find minimum cost edge leaving each component
+            pool.invoke(new CheapestTask(sets, cheapest, 0, m));
+            // join components along minimum cost edges
+            Round round = pool.invoke(new UnionTask(sets, cheapest, 0, n));
+            if (round.unions == 0) {
+                // no edge leaves any component
+                break;
+            }
+            cost += round.cost;
+        }
+        if (sets.componentCount() > 1) {
+            throw new GraphException("graph is not connected");
+        }
+        return cost;
+    }
+
+    // Return true if edge with index e is cheaper than edge with index f.
+    private boolean less(int e, int f) {
+        return costs[e] < costs[f] || costs[e] == costs[f] && e < f;
+    }
+
+    // Return pair of given end-point indices, smaller index first.
+    private static long pair(int u, int v) {
+        return u < v ? ((long) u << 32) | v : ((long) v << 32) | u;
+    }
+
+    /*
+     * CheapestTask finds the minimum cost edge leaving the component of each
+     * end-point of a range of edges, splitting the range in half until it is
+     * small.
+     */
+    private final class CheapestTask extends RecursiveAction {
+        // Version of serialized form of this task.
+        private static final long serialVersionUID = 1L;
+
+        // Disjoint sets of vertices.
+        private final DisjointSet sets;
+        // Minimum cost edge leaving each component, indexed by root.
+        private final AtomicIntegerArray cheapest;
+        // First edge of range (inclusive).
+        private final int lo;
+        // Last edge of range (exclusive).
+        private final int hi;
+
+        // Construct task for given range of edges.
+        CheapestTask(DisjointSet sets, AtomicIntegerArray cheapest,
+                     int lo, int hi) {
+            this.sets = sets;
+            this.cheapest = cheapest;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > THRESHOLD) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new CheapestTask(sets, cheapest, lo, mid),
+                        new CheapestTask(sets, cheapest, mid, hi));
+                return;
+            }
+            for (int e = lo; e < hi; e++) {
+                int root1 = sets.find(tails[e]);
+                int root2 = sets.find(heads[e]);
+                if (root1 != root2) {
+                    // e leaves both components
+                    offer(root1, e);
+                    offer(root2, e);
+                }
+            }
+        }
+
+        // Make given edge minimum cost edge of given root if it is cheaper.
+        private void offer(int root, int e) {
+            while (true) {
+                int f = cheapest.get(root);
+                if (f != NONE && !less(e, f)) {
+                    return;
+                }
+                if (cheapest.compareAndSet(root, f, e)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /*
+     * UnionTask joins the component of each root in a range of vertices with
+     * the component at the other end-point of its minimum cost edge, splitting
+     * the range in half until it is small. Returns the number and total cost
+     * of edges which joined distinct components.
+     */
+    private final class UnionTask extends RecursiveTask<Round> {
+        // Version of serialized form of this task.
+        private static final long serialVersionUID = 1L;
+
+        // Disjoint sets of vertices.
+        private final DisjointSet sets;
+        // Minimum cost edge leaving each component, indexed by root.
+        private final AtomicIntegerArray cheapest;
+        // First vertex of range (inclusive).
+        private final int lo;
+        // Last vertex of range (exclusive).
+        private final int hi;
+
+        // Construct task for given range of vertices.
+        UnionTask(DisjointSet sets, AtomicIntegerArray cheapest,
+                  int lo, int hi) {
+            this.sets = sets;
+            this.cheapest = cheapest;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected Round compute() {
+            if (hi - lo > THRESHOLD) {
+                int mid = (lo + hi) >>> 1;
+                UnionTask left = new UnionTask(sets, cheapest, lo, mid);
+                left.fork();
+                Round result = new UnionTask(sets, cheapest, mid, hi)
+                        .compute();
+                Round other = left.join();
+                result.unions += other.unions;
+                result.cost += other.cost;
+                return result;
+            }
+            Round result = new Round();
+            for (int v = lo; v < hi; v++) {
+                int e = cheapest.get(v);
+                if (e != NONE) {
+                    cheapest.set(v, NONE);
+                    // edge may be chosen by both components, but joins once
+                    if (sets.union(tails[e], heads[e])) {
+                        result.unions++;
+                        result.cost += costs[e];
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    // Round is the number and total cost of edges added to the tree.
+    private static final class Round {
+        // Number of edges added to tree.
+        int unions = 0;
+        // Total cost of edges added to tree.
+        double cost = 0;
+    }
+}
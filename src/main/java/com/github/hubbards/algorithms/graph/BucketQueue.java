@@ -0,0 +1,105 @@
+package com.github.hubbards.algorithms.graph;
+
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * BucketQueue is a monotone priority queue of paths with integral costs, also
+ * known as Dial's bucket queue. Each path is represented by its last vertex id
+ * and its cost. Paths are kept in a circular array of buckets, one bucket per
+ * cost, so adding a path takes constant time and removing a minimum cost path
+ * takes amortized constant time.
+ * <p>
+ * NOTE: Costs must be integral and at least the cost of the last removed
+ *       path. If the maximum edge cost is <em>C</em>, then the costs of all
+ *       paths in the queue differ by at most <em>C</em>, so <em>C + 1</em>
+ *       buckets suffice.
+ * NOTE: There is no decrease key operation. A vertex may occur more than once
+ *       in the queue and stale paths must be skipped by the caller.
+ *
+ * @author Spencer Hubbard
+ */
+final class BucketQueue implements PathQueue {
+    // Default capacity of a bucket.
+    private static final int DEFAULT_CAPACITY = 4;
+
+    // Last vertex id of each path in each bucket, created on demand.
+    private final int[][] buckets;
+    // Number of paths in each bucket.
+    private final int[] sizes;
+    // Number of paths in this queue.
+    private int size;
+    // Cost of bucket where search for minimum cost path begins.
+    private long current;
+
+    /**
+     * Construct empty queue for a given number of buckets.
+     *
+     * @param width the number of buckets, i.e., one more than the maximum
+     *              difference between costs of paths in this queue.
+     * @throws IllegalArgumentException if the given width is not positive.
+     */
+    BucketQueue(int width) {
+        checkArgument(width > 0, "width must be positive");
+        buckets = new int[width][];
+        sizes = new int[width];
+        size = 0;
+        current = 0;
+    }
+
+    /**
+     * Returns the number of buckets of this queue.
+     *
+     * @return the number of buckets of this queue.
+     */
+    int width() {
+        return sizes.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(sizes, 0);
+            size = 0;
+        }
+        current = 0;
+    }
+
+    @Override
+    public void add(int id, double cost) {
+        int i = (int) ((long) cost % sizes.length);
+        int[] bucket = buckets[i];
+        if (bucket == null) {
+            bucket = new int[DEFAULT_CAPACITY];
+            buckets[i] = bucket;
+        } else if (sizes[i] == bucket.length) {
+            bucket = Arrays.copyOf(bucket, 2 * sizes[i]);
+            buckets[i] = bucket;
+        }
+        bucket[sizes[i]] = id;
+        sizes[i]++;
+        size++;
+    }
+
+    @Override
+    public int poll() {
+        // scan buckets in circular order from current cost
+        int i = (int) (current % sizes.length);
+        while (sizes[i] == 0) {
+            current++;
+            i++;
+            if (i == sizes.length) {
+                i = 0;
+            }
+        }
+        sizes[i]--;
+        size--;
+        return buckets[i][sizes[i]];
+    }
+}
@@ -0,0 +1,231 @@
+package com.github.hubbards.algorithms.graph;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * ConcurrentDisjointSet is a {@link DisjointSet} which is safe for use by
+ * multiple concurrent threads without locks. Each entry of the array is the
+ * index of the parent, or the index itself for a root, and is only changed by
+ * compare-and-set operations.
+ * <p>
+ * Two roots are linked by a fixed random-looking priority of their indices,
+ * so concurrent unions never form a cycle and trees stay shallow in
+ * expectation. Finding a root halves the path behind it, which is safe while
+ * other threads make unions. A thread whose compare-and-set fails retries, so
+ * some thread always makes progress.
+ * <p>
+ * {@link #clear()} must not run concurrently with any other operation.
+ *
+ * @author Spencer Hubbard
+ */
+public final class ConcurrentDisjointSet implements DisjointSet {
+    // Minimum number of pairs joined by a single task.
+    private static final int THRESHOLD = 1 << 13;
+
+    // Parent of each index, or index itself for each root.
+    private final AtomicIntegerArray parent;
+    // Number of sets.
+    private final AtomicInteger count;
+
+    /**
+     * Construct partition of a given number of indices, each in a set by
+     * itself.
+     *
+     * @param size the given number of indices.
+     * @throws IllegalArgumentException if the given number is negative.
+     */
+    public ConcurrentDisjointSet(int size) {
+        checkArgument(size >= 0, "size is negative");
+        parent = new AtomicIntegerArray(size);
+        count = new AtomicInteger();
+        clear();
+    }
+
+    @Override
+    public int size() {
+        return parent.length();
+    }
+
+    @Override
+    public int componentCount() {
+        return count.get();
+    }
+
+    /*
+     * pre : index is legal
+     * post: return root index of given set
+     *
+     * NOTE: path halving means make grandparent parent of every other node on
+     *       path, which is safe with concurrent unions
+     */
+    @Override
+    public int find(int index) {
+        checkIndex(index);
+        while (true) {
+            int p = parent.get(index);
+            if (p == index) {
+                return index;
+            }
+            int q = parent.get(p);
+            if (p != q) {
+                // make grandparent parent of index
+                parent.compareAndSet(index, p, q);
+            }
+            index = q;
+        }
+    }
+
+    /*
+     * NOTE: A root found for one index may be linked below another root
+     *       before the other index is found, so the indices are only known to
+     *       be in distinct sets if the first root is still a root.
+     */
+    @Override
+    public boolean connected(int index1, int index2) {
+        while (true) {
+            int root1 = find(index1);
+            int root2 = find(index2);
+            if (root1 == root2) {
+                return true;
+            }
+            if (parent.get(root1) == root1) {
+                return false;
+            }
+        }
+    }
+
+    /*
+     * pre : index1 and index2 are legal
+     * post: replaces given sets with their union.
+     *
+     * NOTE: root with smaller priority becomes child of root with larger
+     *       priority, and linking fails if it is no longer a root
+     */
+    @Override
+    public boolean union(int index1, int index2) {
+        while (true) {
+            int root1 = find(index1);
+            int root2 = find(index2);
+            if (root1 == root2) {
+                return false;
+            }
+            if (priority(root1) > priority(root2)) {
+                int temp = root1;
+                root1 = root2;
+                root2 = temp;
+            }
+            // link root with smaller priority below other root
+            if (parent.compareAndSet(root1, root1, root2)) {
+                count.decrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The pairs are joined in parallel in the common fork/join pool.
+     */
+    @Override
+    public int unionAll(int[] indices1, int[] indices2) {
+        return unionAll(indices1, indices2, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Replaces the sets which contain <code>indices1[i]</code> and
+     * <code>indices2[i]</code> with their union, for each position
+     * <code>i</code> of the given arrays. The pairs are joined in parallel in
+     * a given fork/join pool.
+     *
+     * @param indices1 the array of one index of each pair.
+     * @param indices2 the array of the other index of each pair.
+     * @param pool     the fork/join pool which joins the pairs.
+     * @return the number of pairs whose indices were in distinct sets.
+     * @throws IllegalArgumentException  if the given arrays have different
+     *                                   lengths.
+     * @throws IndexOutOfBoundsException if a given index is illegal.
+     */
+    public int unionAll(int[] indices1, int[] indices2, ForkJoinPool pool) {
+        checkNotNull(indices1);
+        checkNotNull(indices2);
+        checkNotNull(pool);
+        checkArgument(indices1.length == indices2.length,
+                "arrays have different lengths");
+        return pool.invoke(new UnionTask(indices1, indices2, 0,
+                indices1.length));
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < parent.length(); i++) {
+            parent.set(i, i);
+        }
+        count.set(parent.length());
+    }
+
+    // Return priority of given index, which is distinct for distinct indices.
+    private static int priority(int index) {
+        // multiplication by odd constant is a bijection of integers
+        return index * 0x9e3779b9;
+    }
+
+    // Throw IndexOutOfBoundsException if given index is illegal.
+    private void checkIndex(int index) {
+        if (index < 0 || index >= parent.length()) {
+            throw new IndexOutOfBoundsException("index: " + index);
+        }
+    }
+
+    /*
+     * UnionTask joins each pair of indices in a range of positions, splitting
+     * the range in half until it is small. Returns the number of pairs whose
+     * indices were in distinct sets.
+     */
+    private final class UnionTask extends RecursiveTask<Integer> {
+        // Version of serialized form of this task.
+        private static final long serialVersionUID = 1L;
+
+        // One index of each pair.
+        private final int[] indices1;
+        // Other index of each pair.
+        private final int[] indices2;
+        // First position of range (inclusive).
+        private final int lo;
+        // Last position of range (exclusive).
+        private final int hi;
+
+        // Construct task for given range of positions.
+        UnionTask(int[] indices1, int[] indices2, int lo, int hi) {
+            this.indices1 = indices1;
+            this.indices2 = indices2;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (hi - lo > THRESHOLD) {
+                int mid = (lo + hi) >>> 1;
+                UnionTask left = new UnionTask(indices1, indices2, lo, mid);
+                left.fork();
+                int right = new UnionTask(indices1, indices2, mid, hi)
+                        .compute();
+                return left.join() + right;
+            }
+            int unions = 0;
+            for (int i = lo; i < hi; i++) {
+                if (union(indices1[i], indices2[i])) {
+                    unions++;
+                }
+            }
+            return unions;
+        }
+    }
+}
@@ -0,0 +1,546 @@
+package com.github.hubbards.algorithms.graph;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * ContractionHierarchy answers repeated minimum cost path queries on a static
+ * {@link DijkstraSnapshot} using contraction hierarchies.
+ * <p>
+ * During preprocessing the vertices are contracted one at a time, in order of
+ * importance. Contracting a vertex <code>v</code> removes it from the graph
+ * and adds a shortcut edge <code>(u, w)</code> for each pair of remaining
+ * neighbors whose only minimum cost path is <code>u -&gt; v -&gt; w</code>.
+ * The rank of a vertex is its position in the contraction order. A query is a
+ * bidirectional search which only follows edges (and shortcuts) towards
+ * vertices of higher rank, so it settles very few vertices.
+ * <p>
+ * A hierarchy may be written to a stream and read back for quick warm starts.
+ * The stream holds a fingerprint of the snapshot, i.e., its number of
+ * vertices and edges and a hash of its vertex names, which must match the
+ * snapshot given when the hierarchy is read back.
+ *
+ * @author Spencer Hubbard
+ */
+public final class ContractionHierarchy {
+    // Marker at start of stream of hierarchy, which ends in format version.
+    private static final int MAGIC = 0x43480002;
+    // Maximum number of vertices settled by a witness search.
+    private static final int WITNESS_LIMIT = 500;
+
+    // Snapshot of graph.
+    private final DijkstraSnapshot snapshot;
+    // Rank of each vertex in contraction order.
+    private final int[] rank;
+    // Edges (u, w) with rank of u less than rank of w, stored at u.
+    private final Edges up;
+    // Edges (u, w) with rank of u greater than rank of w, stored reversed at w.
+    private final Edges down;
+    // Search state of each thread querying this hierarchy.
+    private final ThreadLocal<SearchState> states;
+
+    // Construct hierarchy with given ranks and edges.
+    private ContractionHierarchy(DijkstraSnapshot snapshot, int[] rank,
+                                 Edges up, Edges down) {
+        this.snapshot = snapshot;
+        this.rank = rank;
+        this.up = up;
+        this.down = down;
+        states = new ThreadLocal<SearchState>();
+    }
+
+    /**
+     * Builds a contraction hierarchy for a given snapshot.
+     * <p>
+     * NOTE: Vertices are ordered by edge difference (number of shortcuts added
+     *       minus number of edges removed) plus number of contracted
+     *       neighbors, with lazy updates. Witness searches are limited to
+     *       settling a fixed number of vertices, so a few unnecessary
+     *       shortcuts may be added.
+     *
+     * @param snapshot the given snapshot.
+     * @return a contraction hierarchy for the given snapshot.
+     */
+    public static ContractionHierarchy build(DijkstraSnapshot snapshot) {
+        return new Contraction(checkNotNull(snapshot)).contract();
+    }
+
+    /**
+     * Reads a contraction hierarchy for a given snapshot from a given stream.
+     * The stream is not closed.
+     *
+     * @param in       the given stream.
+     * @param snapshot the given snapshot.
+     * @return the contraction hierarchy.
+     * @throws IOException    if an I/O error occurs or the stream does not
+     *                        contain a valid contraction hierarchy.
+     * @throws GraphException if the fingerprint of the snapshot the hierarchy
+     *                        was built for does not match the given snapshot.
+     */
+    public static ContractionHierarchy read(InputStream in,
+                                            DijkstraSnapshot snapshot)
+            throws IOException {
+        DataInputStream data = new DataInputStream(checkNotNull(in));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("stream does not contain hierarchy");
+        }
+        int n = data.readInt();
+        int m = data.readInt();
+        long hash = data.readLong();
+        if (n != snapshot.vertexCount() || m != snapshot.edgeCount()
+                || hash != hash(snapshot)) {
+            throw new GraphException("hierarchy does not match snapshot");
+        }
+        int[] rank = new int[n];
+        boolean[] ranked = new boolean[n];
+        for (int v = 0; v < n; v++) {
+            int r = data.readInt();
+            if (r < 0 || r >= n || ranked[r]) {
+                throw new IOException("invalid rank: " + r);
+            }
+            ranked[r] = true;
+            rank[v] = r;
+        }
+        Edges up = Edges.read(data, n);
+        Edges down = Edges.read(data, n);
+        return new ContractionHierarchy(snapshot, rank, up, down);
+    }
+
+    /**
+     * Writes this hierarchy to a given stream. The stream is flushed but not
+     * closed.
+     *
+     * @param out the given stream.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(checkNotNull(out));
+        data.writeInt(MAGIC);
+        data.writeInt(snapshot.vertexCount());
+        data.writeInt(snapshot.edgeCount());
+        data.writeLong(hash(snapshot));
+        for (int r : rank) {
+            data.writeInt(r);
+        }
+        up.write(data);
+        down.write(data);
+        data.flush();
+    }
+
+    // Return hash of names of vertices of given snapshot, in order of id.
+    private static long hash(DijkstraSnapshot snapshot) {
+        long hash = 1;
+        for (int v = 0; v < snapshot.vertexCount(); v++) {
+            hash = 31 * hash + snapshot.nameOf(v).hashCode();
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the number of edges and shortcuts in this hierarchy.
+     *
+     * @return the number of edges and shortcuts in this hierarchy.
+     */
+    public int edgeCount() {
+        return up.heads.length + down.heads.length;
+    }
+
+    /**
+     * Computes the minimum cost of a path between two given vertices.
+     *
+     * @param name1 the name of the beginning vertex.
+     * @param name2 the name of the ending vertex.
+     * @return the minimum cost of a path between the given vertices, or
+     * {@link DijkstraGraph#INFINITY} if there is no such path.
+     * @throws GraphException if the snapshot does not contain the given
+     *                        vertices.
+     */
+    public double minimumCostPath(String name1, String name2) {
+        return minimumCostPath(snapshot.indexOf(name1),
+                snapshot.indexOf(name2));
+    }
+
+    /**
+     * Computes the minimum cost of a path between two vertices with given ids.
+     * <p>
+     * NOTE: Runs a bidirectional search, forward from the beginning vertex
+     * and backward from the ending vertex, which only follows edges towards
+     * vertices of higher rank. Each direction stops once its minimum cost is
+     * at least the cost of the best path found so far.
+     *
+     * @param source the id of the beginning vertex.
+     * @param target the id of the ending vertex.
+     * @return the minimum cost of a path between the given vertices, or
+     * {@link DijkstraGraph#INFINITY} if there is no such path.
+     * @throws IndexOutOfBoundsException if a given id is illegal.
+     */
+    public double minimumCostPath(int source, int target) {
+        // check preconditions
+        snapshot.nameOf(source);
+        snapshot.nameOf(target);
+        SearchState forward = SearchState.acquire(states, rank.length);
+        SearchState backward = forward.reverse();
+        IndexedHeap heap1 = forward.indexedHeap(SearchStrategy.DARY_HEAP);
+        IndexedHeap heap2 = backward.indexedHeap(SearchStrategy.DARY_HEAP);
+        // begin forward search at source vertex
+        forward.visit(source);
+        forward.cost[source] = 0;
+        forward.color[source] = Color.GRAY;
+        heap1.add(source, 0);
+        // begin backward search at target vertex
+        backward.visit(target);
+        backward.cost[target] = 0;
+        backward.color[target] = Color.GRAY;
+        heap2.add(target, 0);
+        double best = DijkstraGraph.INFINITY;
+        while (true) {
+            boolean f = !heap1.isEmpty() && heap1.minKey() < best;
+            boolean b = !heap2.isEmpty() && heap2.minKey() < best;
+            if (f && (!b || heap1.minKey() <= heap2.minKey())) {
+                best = settle(heap1.poll(), up, forward, backward, heap1, best);
+            } else if (b) {
+                best = settle(heap2.poll(), down, backward, forward, heap2,
+                        best);
+            } else {
+                // both directions stopped
+                return best;
+            }
+        }
+    }
+
+    /*
+     * Settles a given vertex in one direction of a query and returns the cost
+     * of the best path found so far.
+     */
+    private static double settle(int u, Edges edges, SearchState state,
+                                 SearchState other, IndexedHeap heap,
+                                 double best) {
+        double[] cost = state.cost;
+        Color[] color = state.color;
+        // check for cheaper path through u
+        best = Math.min(best, cost[u] + other.cost(u));
+        for (int i = edges.offsets[u]; i < edges.offsets[u + 1]; i++) {
+            int v = edges.heads[i];
+            state.visit(v);
+            double c = cost[u] + edges.costs[i];
+            if (color[v] == Color.WHITE) {
+                // explore v
+                color[v] = Color.GRAY;
+                cost[v] = c;
+                state.last[v] = u;
+                heap.add(v, c);
+            } else if (color[v] == Color.GRAY && cost[v] > c) {
+                // found cheaper path to v
+                cost[v] = c;
+                state.last[v] = u;
+                heap.decreaseKey(v, c);
+            }
+        }
+        // u fully explored
+        color[u] = Color.BLACK;
+        return best;
+    }
+
+    // Edges represents edges of a hierarchy in compressed sparse row form.
+    private static final class Edges {
+        // Offset of first edge stored at v, for each vertex id v.
+        final int[] offsets;
+        // Head of each edge.
+        final int[] heads;
+        // Cost of each edge.
+        final double[] costs;
+
+        // Construct edges with given arrays.
+        Edges(int[] offsets, int[] heads, double[] costs) {
+            this.offsets = offsets;
+            this.heads = heads;
+            this.costs = costs;
+        }
+
+        // Construct edges from given adjacency lists.
+        Edges(Adjacency[] adj) {
+            offsets = new int[adj.length + 1];
+            for (int v = 0; v < adj.length; v++) {
+                offsets[v + 1] = offsets[v] + adj[v].size;
+            }
+            heads = new int[offsets[adj.length]];
+            costs = new double[offsets[adj.length]];
+            for (int v = 0; v < adj.length; v++) {
+                System.arraycopy(adj[v].ids, 0, heads, offsets[v],
+                        adj[v].size);
+                System.arraycopy(adj[v].costs, 0, costs, offsets[v],
+                        adj[v].size);
+            }
+        }
+
+        // Read edges for given number of vertices from given stream, and
+        // throw IOException if they are not valid.
+        static Edges read(DataInputStream data, int n) throws IOException {
+            int m = data.readInt();
+            if (m < 0) {
+                throw new IOException("invalid number of edges: " + m);
+            }
+            int[] offsets = new int[n + 1];
+            for (int v = 0; v <= n; v++) {
+                offsets[v] = data.readInt();
+                if (offsets[v] < (v == 0 ? 0 : offsets[v - 1])
+                        || offsets[v] > m) {
+                    throw new IOException("invalid offset: " + offsets[v]);
+                }
+            }
+            if (offsets[0] != 0 || offsets[n] != m) {
+                throw new IOException("offsets do not cover edges");
+            }
+            int[] heads = new int[m];
+            double[] costs = new double[m];
+            for (int i = 0; i < m; i++) {
+                heads[i] = data.readInt();
+                if (heads[i] < 0 || heads[i] >= n) {
+                    throw new IOException("invalid head: " + heads[i]);
+                }
+                costs[i] = data.readDouble();
+                if (!(costs[i] >= 0)) {
+                    // negative or NaN
+                    throw new IOException("invalid cost: " + costs[i]);
+                }
+            }
+            return new Edges(offsets, heads, costs);
+        }
+
+        // Write these edges to given stream.
+        void write(DataOutputStream data) throws IOException {
+            data.writeInt(heads.length);
+            for (int offset : offsets) {
+                data.writeInt(offset);
+            }
+            for (int i = 0; i < heads.length; i++) {
+                data.writeInt(heads[i]);
+                data.writeDouble(costs[i]);
+            }
+        }
+    }
+
+    /*
+     * Adjacency is a growable adjacency list of a vertex during contraction,
+     * with at most one edge to each neighbor.
+     */
+    private static final class Adjacency {
+        // Neighbor of each edge.
+        int[] ids = new int[4];
+        // Cost of each edge.
+        double[] costs = new double[4];
+        // Number of edges.
+        int size = 0;
+
+        // Add edge to given neighbor or lower cost of existing edge.
+        void relax(int id, double cost) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    costs[i] = Math.min(costs[i], cost);
+                    return;
+                }
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, 2 * size);
+                costs = Arrays.copyOf(costs, 2 * size);
+            }
+            ids[size] = id;
+            costs[size] = cost;
+            size++;
+        }
+
+        // Remove edge to given neighbor.
+        void remove(int id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    size--;
+                    ids[i] = ids[size];
+                    costs[i] = costs[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    /*
+     * Contraction holds the remaining graph while vertices are contracted.
+     */
+    private static final class Contraction {
+        // Snapshot of graph.
+        final DijkstraSnapshot snapshot;
+        // Number of vertices.
+        final int n;
+        // Edges of remaining graph with tail v, for each vertex id v.
+        final Adjacency[] out;
+        // Edges of remaining graph with head v, for each vertex id v.
+        final Adjacency[] in;
+        // Edges to higher ranked heads, for each contracted vertex.
+        final Adjacency[] up;
+        // Reversed edges from higher ranked tails, for each contracted vertex.
+        final Adjacency[] down;
+        // Number of contracted neighbors of each vertex.
+        final int[] deleted;
+        // State of witness searches.
+        final SearchState witness;
+
+        // Construct remaining graph from given snapshot.
+        Contraction(DijkstraSnapshot snapshot) {
+            this.snapshot = snapshot;
+            n = snapshot.vertexCount();
+            out = new Adjacency[n];
+            in = new Adjacency[n];
+            up = new Adjacency[n];
+            down = new Adjacency[n];
+            for (int v = 0; v < n; v++) {
+                out[v] = new Adjacency();
+                in[v] = new Adjacency();
+                up[v] = new Adjacency();
+                down[v] = new Adjacency();
+            }
+            for (int u = 0; u < n; u++) {
+                int end = snapshot.edgeOffset(u + 1);
+                for (int i = snapshot.edgeOffset(u); i < end; i++) {
+                    int v = snapshot.edgeHead(i);
+                    if (u != v) {
+                        // loops are never part of a minimum cost path
+                        out[u].relax(v, snapshot.edgeCost(i));
+                        in[v].relax(u, snapshot.edgeCost(i));
+                    }
+                }
+            }
+            deleted = new int[n];
+            witness = new SearchState(n);
+        }
+
+        // Contract every vertex and build hierarchy.
+        ContractionHierarchy contract() {
+            int[] rank = new int[n];
+            IndexedHeap queue = new DaryHeap(n, DaryHeap.DEFAULT_ARITY);
+            for (int v = 0; v < n; v++) {
+                queue.add(v, priority(v));
+            }
+            int next = 0;
+            while (!queue.isEmpty()) {
+                int v = queue.poll();
+                // lazy update of priority
+                double p = priority(v);
+                if (!queue.isEmpty() && p > queue.minKey()) {
+                    queue.add(v, p);
+                } else {
+                    contract(v);
+                    rank[v] = next;
+                    next++;
+                }
+            }
+            return new ContractionHierarchy(snapshot, rank, new Edges(up),
+                    new Edges(down));
+        }
+
+        // Return priority of given vertex for contraction order.
+        double priority(int v) {
+            return shortcuts(v, false) - in[v].size - out[v].size
+                    + deleted[v];
+        }
+
+        // Remove given vertex from remaining graph.
+        void contract(int v) {
+            // record edges to remaining (higher ranked) neighbors
+            for (int i = 0; i < out[v].size; i++) {
+                up[v].relax(out[v].ids[i], out[v].costs[i]);
+            }
+            for (int i = 0; i < in[v].size; i++) {
+                down[v].relax(in[v].ids[i], in[v].costs[i]);
+            }
+            shortcuts(v, true);
+            // remove edges incident to v
+            for (int i = 0; i < in[v].size; i++) {
+                int u = in[v].ids[i];
+                out[u].remove(v);
+                deleted[u]++;
+            }
+            for (int i = 0; i < out[v].size; i++) {
+                int w = out[v].ids[i];
+                in[w].remove(v);
+                deleted[w]++;
+            }
+            in[v].size = 0;
+            out[v].size = 0;
+        }
+
+        /*
+         * Counts the shortcuts needed to contract a given vertex, and adds
+         * them to the remaining graph if the given flag is true.
+         */
+        int shortcuts(int v, boolean add) {
+            int count = 0;
+            for (int i = 0; i < in[v].size; i++) {
+                int u = in[v].ids[i];
+                double cu = in[v].costs[i];
+                double max = 0;
+                for (int j = 0; j < out[v].size; j++) {
+                    if (out[v].ids[j] != u) {
+                        max = Math.max(max, cu + out[v].costs[j]);
+                    }
+                }
+                witnessSearch(u, v, max);
+                for (int j = 0; j < out[v].size; j++) {
+                    int w = out[v].ids[j];
+                    double c = cu + out[v].costs[j];
+                    if (w != u && witness.cost(w) > c) {
+                        // u -> v -> w is only minimum cost path
+                        count++;
+                        if (add) {
+                            out[u].relax(w, c);
+                            in[w].relax(u, c);
+                        }
+                    }
+                }
+            }
+            return count;
+        }
+
+        /*
+         * Searches remaining graph without a given vertex from a given source
+         * vertex for paths with cost at most a given maximum.
+         */
+        void witnessSearch(int source, int without, double max) {
+            witness.reset();
+            double[] cost = witness.cost;
+            Color[] color = witness.color;
+            IndexedHeap heap = witness.indexedHeap(SearchStrategy.DARY_HEAP);
+            witness.visit(source);
+            cost[source] = 0;
+            color[source] = Color.GRAY;
+            heap.add(source, 0);
+            int settled = 0;
+            while (!heap.isEmpty() && heap.minKey() <= max
+                    && settled < WITNESS_LIMIT) {
+                int x = heap.poll();
+                settled++;
+                for (int i = 0; i < out[x].size; i++) {
+                    int y = out[x].ids[i];
+                    if (y == without) {
+                        continue;
+                    }
+                    witness.visit(y);
+                    double c = cost[x] + out[x].costs[i];
+                    if (color[y] == Color.WHITE) {
+                        color[y] = Color.GRAY;
+                        cost[y] = c;
+                        heap.add(y, c);
+                    } else if (color[y] == Color.GRAY && cost[y] > c) {
+                        cost[y] = c;
+                        heap.decreaseKey(y, c);
+                    }
+                }
+                color[x] = Color.BLACK;
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.github.hubbards.algorithms.graph;
+
+import java.util.Arrays;
+
+/**
+ * CostColumn is a fixed length primitive array of edge costs, stored with a
+ * given {@link CostStorage}. There is one subclass per storage, so reading a
+ * cost is a single array access.
+ *
+ * @author Spencer Hubbard
+ */
+abstract class CostColumn {
+    /**
+     * Returns the storage of this column.
+     *
+     * @return the storage of this column.
+     */
+    abstract CostStorage storage();
+
+    /**
+     * Returns the number of costs in this column.
+     *
+     * @return the number of costs in this column.
+     */
+    abstract int length();
+
+    /**
+     * Returns the cost at a given position.
+     *
+     * @param i the given position.
+     * @return the cost at the given position.
+     */
+    abstract double get(int i);
+
+    /**
+     * Sets the cost at a given position, which must already be rounded to the
+     * precision of this column.
+     *
+     * @param i    the given position.
+     * @param cost the cost.
+     */
+    abstract void set(int i, double cost);
+
+    /**
+     * Returns a copy of this column with a given length, truncated or padded
+     * with zero costs.
+     *
+     * @param length the length of the copy.
+     * @return a copy of this column with the given length.
+     */
+    abstract CostColumn copyOf(int length);
+
+    /**
+     * Creates a column of zero costs with given storage and length.
+     *
+     * @param storage the storage of costs.
+     * @param length  the number of costs.
+     * @return a column of zero costs.
+     */
+    static CostColumn create(CostStorage storage, int length) {
+        switch (storage) {
+            case FLOAT:
+                return new FloatColumn(length);
+            case INTEGER:
+                return new IntColumn(length);
+            default:
+                return new DoubleColumn(length);
+        }
+    }
+
+    // DoubleColumn is a column of costs with double precision.
+    private static final class DoubleColumn extends CostColumn {
+        // Costs of column.
+        private final double[] costs;
+
+        // Construct column of zero costs with given length.
+        DoubleColumn(int length) {
+            costs = new double[length];
+        }
+
+        // Construct column with given costs.
+        DoubleColumn(double[] costs) {
+            this.costs = costs;
+        }
+
+        @Override
+        CostStorage storage() {
+            return CostStorage.DOUBLE;
+        }
+
+        @Override
+        int length() {
+            return costs.length;
+        }
+
+        @Override
+        double get(int i) {
+            return costs[i];
+        }
+
+        @Override
+        void set(int i, double cost) {
+            costs[i] = cost;
+        }
+
+        @Override
+        CostColumn copyOf(int length) {
+            return new DoubleColumn(Arrays.copyOf(costs, length));
+        }
+    }
+
+    // FloatColumn is a column of costs with single precision.
+    private static final class FloatColumn extends CostColumn {
+        // Costs of column.
+        private final float[] costs;
+
+        // Construct column of zero costs with given length.
+        FloatColumn(int length) {
+            costs = new float[length];
+        }
+
+        // Construct column with given costs.
+        FloatColumn(float[] costs) {
+            this.costs = costs;
+        }
+
+        @Override
+        CostStorage storage() {
+            return CostStorage.FLOAT;
+        }
+
+        @Override
+        int length() {
+            return costs.length;
+        }
+
+        @Override
+        double get(int i) {
+            return costs[i];
+        }
+
+        @Override
+        void set(int i, double cost) {
+            costs[i] = (float) cost;
+        }
+
+        @Override
+        CostColumn copyOf(int length) {
+            return new FloatColumn(Arrays.copyOf(costs, length));
+        }
+    }
+
+    // IntColumn is a column of integral costs.
+    private static final class IntColumn extends CostColumn {
+        // Costs of column.
+        private final int[] costs;
+
+        // Construct column of zero costs with given length.
+        IntColumn(int length) {
+            costs = new int[length];
+        }
+
+        // Construct column with given costs.
+        IntColumn(int[] costs) {
+            this.costs = costs;
+        }
+
+        @Override
+        CostStorage storage() {
+            return CostStorage.INTEGER;
+        }
+
+        @Override
+        int length() {
+            return costs.length;
+        }
+
+        @Override
+        double get(int i) {
+            return costs[i];
+        }
+
+        @Override
+        void set(int i, double cost) {
+            costs[i] = (int) cost;
+        }
+
+        @Override
+        CostColumn copyOf(int length) {
+            return new IntColumn(Arrays.copyOf(costs, length));
+        }
+    }
+}
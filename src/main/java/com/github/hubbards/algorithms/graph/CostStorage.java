@@ -0,0 +1,56 @@
+package com.github.hubbards.algorithms.graph;
+
+/**
+ * Storage used for the edge costs of a weighted graph. Edge costs are kept in
+ * primitive columns of the storage, and are rounded to the precision of the
+ * storage as they are added, so a {@link DijkstraGraph} and its
+ * {@link DijkstraSnapshot}s always agree.
+ *
+ * @author Spencer Hubbard
+ * @see DijkstraGraph#DijkstraGraph(CostStorage)
+ * @see PrimGraph#PrimGraph(CostStorage)
+ * @see KruskalGraph#KruskalGraph(CostStorage)
+ */
+public enum CostStorage {
+    /**
+     * Double precision costs, eight bytes per edge.
+     */
+    DOUBLE,
+
+    /**
+     * Single precision costs, four bytes per edge. Costs are rounded to the
+     * nearest float.
+     */
+    FLOAT,
+
+    /**
+     * Integral costs, four bytes per edge. Costs are rounded to the nearest
+     * integer and must be less than {@link Integer#MAX_VALUE}. Costs in units
+     * finer than one may be stored by scaling them before they are added.
+     */
+    INTEGER;
+
+    /**
+     * Rounds a given cost to the precision of this storage.
+     *
+     * @param cost the given non-negative cost.
+     * @return the given cost rounded to the precision of this storage.
+     * @throws GraphException if the given cost is too large for this storage.
+     */
+    double round(double cost) {
+        switch (this) {
+            case FLOAT:
+                if (cost > Float.MAX_VALUE) {
+                    throw new GraphException("edge cost too large");
+                }
+                return (float) cost;
+            case INTEGER:
+                if (cost >= Integer.MAX_VALUE) {
+                    throw new GraphException("edge cost too large");
+                }
+                return Math.rint(cost);
+            default:
+                return cost;
+        }
+    }
+}
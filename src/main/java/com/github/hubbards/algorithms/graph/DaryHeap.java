@@ -0,0 +1,140 @@
+package com.github.hubbards.algorithms.graph;
+
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * DaryHeap is an indexed d-ary min heap of integer ids. The heap is stored in
+ * a primitive array together with the position of each id in the heap, which
+ * supports the decrease key operation without allocating objects.
+ * <p>
+ * NOTE: The time-complexity of add and decrease key is
+ * <em>O(log<sub>d</sub>(n))</em>, and the time-complexity of poll is
+ * <em>O(d * log<sub>d</sub>(n))</em>, where <em>n</em> is the capacity.
+ *
+ * @author Spencer Hubbard
+ */
+final class DaryHeap implements IndexedHeap {
+    // Default number of children of each node.
+    static final int DEFAULT_ARITY = 4;
+
+    // Number of children of each node.
+    private final int arity;
+    // Ids in heap order.
+    private final int[] heap;
+    // Position of each id in heap, or -1 if id is not in heap.
+    private final int[] pos;
+    // Key of each id.
+    private final double[] keys;
+    // Number of ids in this heap.
+    private int size;
+
+    /**
+     * Construct empty heap with given capacity and arity.
+     *
+     * @param capacity the capacity of the heap.
+     * @param arity    the number of children of each node.
+     */
+    DaryHeap(int capacity, int arity) {
+        checkArgument(arity >= 2, "arity must be at least two");
+        this.arity = arity;
+        heap = new int[capacity];
+        pos = new int[capacity];
+        Arrays.fill(pos, -1);
+        keys = new double[capacity];
+        size = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(int id) {
+        return pos[id] >= 0;
+    }
+
+    @Override
+    public void add(int id, double key) {
+        keys[id] = key;
+        size++;
+        percolateUp(size - 1, id);
+    }
+
+    @Override
+    public double minKey() {
+        return keys[heap[0]];
+    }
+
+    @Override
+    public void decreaseKey(int id, double key) {
+        keys[id] = key;
+        percolateUp(pos[id], id);
+    }
+
+    @Override
+    public int poll() {
+        int result = heap[0];
+        pos[result] = -1;
+        size--;
+        if (size > 0) {
+            percolateDown(0, heap[size]);
+        }
+        return result;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            pos[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    // Move given id up from given position until heap order is restored.
+    private void percolateUp(int i, int id) {
+        double key = keys[id];
+        while (i > 0) {
+            int parent = (i - 1) / arity;
+            int p = heap[parent];
+            if (keys[p] <= key) {
+                break;
+            }
+            heap[i] = p;
+            pos[p] = i;
+            i = parent;
+        }
+        heap[i] = id;
+        pos[id] = i;
+    }
+
+    // Move given id down from given position until heap order is restored.
+    private void percolateDown(int i, int id) {
+        double key = keys[id];
+        while (true) {
+            // find child with minimum key
+            int first = arity * i + 1;
+            if (first >= size) {
+                break;
+            }
+            int last = Math.min(first + arity, size);
+            int child = first;
+            for (int j = first + 1; j < last; j++) {
+                if (keys[heap[j]] < keys[heap[child]]) {
+                    child = j;
+                }
+            }
+            int c = heap[child];
+            if (key <= keys[c]) {
+                break;
+            }
+            heap[i] = c;
+            pos[c] = i;
+            i = child;
+        }
+        heap[i] = id;
+        pos[id] = i;
+    }
+}
@@ -0,0 +1,311 @@
+package com.github.hubbards.algorithms.graph;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * DeltaStepping computes minimum cost paths from a single source vertex in a
+ * {@link DijkstraSnapshot} using the delta-stepping algorithm, relaxing edges
+ * on many threads at once.
+ * <p>
+ * Vertices are kept in buckets of width <code>delta</code> by the cost of the
+ * best path found so far. The buckets are processed in order. The light edges
+ * (with cost less than <code>delta</code>) of the vertices in the current
+ * bucket are relaxed in parallel until the bucket stays empty, then the heavy
+ * edges of every vertex removed from the bucket are relaxed in parallel. A
+ * small delta approaches Dijkstra's algorithm, while a large delta approaches
+ * the Bellman-Ford algorithm with more parallel work per phase.
+ * <p>
+ * The computed costs are the same as the costs computed by
+ * {@link DijkstraSnapshot#minimumCosts(int)}. An engine is safe for use by
+ * multiple concurrent threads.
+ *
+ * @author Spencer Hubbard
+ */
+public final class DeltaStepping {
+    // Minimum number of vertices relaxed by a single task.
+    private static final int THRESHOLD = 256;
+
+    // Number of vertices.
+    private final int n;
+    // Width of each bucket.
+    private final double delta;
+    // Offset of first edge with tail v, for each vertex id v.
+    private final int[] offsets;
+    // Offset of first heavy edge with tail v, for each vertex id v.
+    private final int[] splits;
+    // Head of each edge, light edges first for each tail.
+    private final int[] heads;
+    // Cost of each edge, light edges first for each tail.
+    private final double[] costs;
+
+    /**
+     * Construct engine for a given snapshot and bucket width.
+     *
+     * @param snapshot the given snapshot.
+     * @param delta    the width of each bucket.
+     * @throws IllegalArgumentException if the given width is not positive.
+     */
+    public DeltaStepping(DijkstraSnapshot snapshot, double delta) {
+        checkNotNull(snapshot);
+        checkArgument(delta > 0, "delta must be positive");
+        this.delta = delta;
+        n = snapshot.vertexCount();
+        offsets = new int[n + 1];
+        splits = new int[n];
+        heads = new int[snapshot.edgeCount()];
+        costs = new double[snapshot.edgeCount()];
+        for (int u = 0; u < n; u++) {
+            int begin = snapshot.edgeOffset(u);
+            int end = snapshot.edgeOffset(u + 1);
+            offsets[u + 1] = end;
+            // partition edges of u into light and heavy edges
+            int light = begin;
+            int heavy = end;
+            for (int i = begin; i < end; i++) {
+                double c = snapshot.edgeCost(i);
+                int j = c < delta ? light++ : --heavy;
+                heads[j] = snapshot.edgeHead(i);
+                costs[j] = c;
+            }
+            splits[u] = light;
+        }
+    }
+
+    /**
+     * Returns the width of each bucket.
+     *
+     * @return the width of each bucket.
+     */
+    public double delta() {
+        return delta;
+    }
+
+    /**
+     * Computes the minimum cost of a path from a vertex with a given id to
+     * every vertex, relaxing edges in the common fork/join pool.
+     *
+     * @param source the id of the beginning vertex.
+     * @return the minimum cost of a path from the given vertex to each vertex,
+     * indexed by vertex id, or {@link DijkstraGraph#INFINITY} for vertices
+     * which are not reachable from the given vertex.
+     * @throws IndexOutOfBoundsException if the given id is illegal.
+     */
+    public double[] minimumCosts(int source) {
+        return minimumCosts(source, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the minimum cost of a path from a vertex with a given id to
+     * every vertex, relaxing edges in a given fork/join pool.
+     *
+     * @param source the id of the beginning vertex.
+     * @param pool   the pool in which edges are relaxed.
+     * @return the minimum cost of a path from the given vertex to each vertex,
+     * indexed by vertex id, or {@link DijkstraGraph#INFINITY} for vertices
+     * which are not reachable from the given vertex.
+     * @throws IndexOutOfBoundsException if the given id is illegal.
+     */
+    public double[] minimumCosts(int source, ForkJoinPool pool) {
+        checkNotNull(pool);
+        if (source < 0 || source >= n) {
+            throw new IndexOutOfBoundsException("id: " + source);
+        }
+        // cost of best path found so far, as bits of non-negative double
+        AtomicLongArray cost = new AtomicLongArray(n);
+        long infinity = Double.doubleToLongBits(DijkstraGraph.INFINITY);
+        for (int v = 0; v < n; v++) {
+            cost.set(v, infinity);
+        }
+        cost.set(source, Double.doubleToLongBits(0));
+        // bookkeeping fields to remove duplicate vertices from lists
+        int[] marks = new int[n];
+        int mark = 0;
+        // buckets of vertices, possibly containing stale entries
+        TreeMap<Long, Vertices> buckets = new TreeMap<Long, Vertices>();
+        insert(buckets, 0, source);
+        while (!buckets.isEmpty()) {
+            Map.Entry<Long, Vertices> entry = buckets.pollFirstEntry();
+            long i = entry.getKey();
+            Vertices removed = new Vertices();
+            // skip stale entries of bucket
+            mark++;
+            Vertices frontier = new Vertices();
+            for (int k = 0; k < entry.getValue().size; k++) {
+                int v = entry.getValue().ids[k];
+                if (marks[v] != mark && bucket(cost, v) == i) {
+                    marks[v] = mark;
+                    frontier.add(v);
+                }
+            }
+            while (frontier.size > 0) {
+                removed.addAll(frontier);
+                // relax light edges of current bucket in parallel
+                Vertices updated = pool.invoke(new RelaxTask(cost, frontier,
+                        true, 0, frontier.size));
+                mark++;
+                frontier = new Vertices();
+                for (int k = 0; k < updated.size; k++) {
+                    int v = updated.ids[k];
+                    if (marks[v] != mark) {
+                        marks[v] = mark;
+                        long b = bucket(cost, v);
+                        if (b == i) {
+                            // v fell into current bucket again
+                            frontier.add(v);
+                        } else {
+                            insert(buckets, b, v);
+                        }
+                    }
+                }
+            }
+            // relax heavy edges of each vertex removed from current bucket
+            mark++;
+            Vertices settled = new Vertices();
+            for (int k = 0; k < removed.size; k++) {
+                int v = removed.ids[k];
+                if (marks[v] != mark) {
+                    marks[v] = mark;
+                    settled.add(v);
+                }
+            }
+            Vertices updated = pool.invoke(new RelaxTask(cost, settled, false,
+                    0, settled.size));
+            for (int k = 0; k < updated.size; k++) {
+                int v = updated.ids[k];
+                insert(buckets, Math.max(bucket(cost, v), i + 1), v);
+            }
+        }
+        double[] result = new double[n];
+        for (int v = 0; v < n; v++) {
+            result[v] = Double.longBitsToDouble(cost.get(v));
+        }
+        return result;
+    }
+
+    // Return index of bucket of given vertex.
+    private long bucket(AtomicLongArray cost, int v) {
+        return (long) (Double.longBitsToDouble(cost.get(v)) / delta);
+    }
+
+    // Add given vertex to bucket with given index.
+    private static void insert(TreeMap<Long, Vertices> buckets, long index,
+                               int v) {
+        Vertices bucket = buckets.get(index);
+        if (bucket == null) {
+            bucket = new Vertices();
+            buckets.put(index, bucket);
+        }
+        bucket.add(v);
+    }
+
+    /*
+     * Lowers cost of path to given vertex to given cost, unless a path with
+     * lower or equal cost was already found. Returns true if cost was lowered.
+     *
+     * NOTE: The bits of non-negative doubles are ordered like the doubles.
+     */
+    private static boolean relax(AtomicLongArray cost, int v, double c) {
+        long bits = Double.doubleToLongBits(c);
+        while (true) {
+            long old = cost.get(v);
+            if (old <= bits) {
+                return false;
+            }
+            if (cost.compareAndSet(v, old, bits)) {
+                return true;
+            }
+        }
+    }
+
+    /*
+     * RelaxTask relaxes the light or heavy edges of a range of vertices in a
+     * list, splitting the range in half until it is small. Returns the heads
+     * of edges whose cost was lowered.
+     */
+    private final class RelaxTask extends RecursiveTask<Vertices> {
+        // Version of serialized form of this task.
+        private static final long serialVersionUID = 1L;
+
+        // Cost of best path found so far to each vertex.
+        private final AtomicLongArray cost;
+        // List of vertices.
+        private final Vertices list;
+        // Relax light edges if true, otherwise heavy edges.
+        private final boolean light;
+        // First position of range (inclusive).
+        private final int lo;
+        // Last position of range (exclusive).
+        private final int hi;
+
+        // Construct task for given range of list.
+        RelaxTask(AtomicLongArray cost, Vertices list, boolean light, int lo,
+                  int hi) {
+            this.cost = cost;
+            this.list = list;
+            this.light = light;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected Vertices compute() {
+            if (hi - lo > THRESHOLD) {
+                int mid = (lo + hi) >>> 1;
+                RelaxTask left = new RelaxTask(cost, list, light, lo, mid);
+                left.fork();
+                Vertices result = new RelaxTask(cost, list, light, mid, hi)
+                        .compute();
+                result.addAll(left.join());
+                return result;
+            }
+            Vertices result = new Vertices();
+            for (int k = lo; k < hi; k++) {
+                int u = list.ids[k];
+                double cu = Double.longBitsToDouble(cost.get(u));
+                int begin = light ? offsets[u] : splits[u];
+                int end = light ? splits[u] : offsets[u + 1];
+                for (int i = begin; i < end; i++) {
+                    if (relax(cost, heads[i], cu + costs[i])) {
+                        result.add(heads[i]);
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    // Vertices is a growable list of vertex ids.
+    private static final class Vertices {
+        // Id of each vertex in this list.
+        int[] ids = new int[4];
+        // Number of vertices in this list.
+        int size = 0;
+
+        // Add given vertex to this list.
+        void add(int v) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, 2 * size);
+            }
+            ids[size] = v;
+            size++;
+        }
+
+        // Add each vertex in given list to this list.
+        void addAll(Vertices other) {
+            if (size + other.size > ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(2 * ids.length,
+                        size + other.size));
+            }
+            System.arraycopy(other.ids, 0, ids, size, other.size);
+            size += other.size;
+        }
+    }
+}
@@ -1,30 +1,92 @@
 package com.github.hubbards.algorithms.graph;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.PriorityQueue;
+
+import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * DijkstraGraph represents a weighted and directed graph with non-negative edge
  * costs. The shortest paths in the graph are found using Dijkstra's algorithm.
  * <p>
+ * A graph may be frozen into an immutable {@link DijkstraSnapshot}, which is
+ * used for queries until this graph is modified again.
+ * <p>
+ * Queries keep their bookkeeping fields in a per-thread search state rather
+ * than in the graph, so many threads may query the same graph concurrently as
+ * long as no thread modifies it.
+ * <p>
  * TODO: add method which returns true if graph is connected, false otherwise
  *
  * @author Spencer Hubbard
  */
 public class DijkstraGraph extends WeightedGraph {
     public static final double INFINITY = Double.MAX_VALUE;
+    /**
+     * Bound on edge costs for searches with {@link SearchStrategy#BUCKET_QUEUE}.
+     * If every edge cost of a graph is integral and less than this bound, then
+     * the bucket queue is used by default.
+     */
+    public static final int MAX_BUCKET_COST = 1 << 16;
 
+    // Storage of edge costs in this graph and its snapshots.
+    private final CostStorage storage;
     // Map name of vertex to vertex object.
     private Map<String, Vertex> map;
+    // List of vertices in this graph indexed by id.
+    private List<Vertex> list;
+    // Number of edges in this graph.
+    private int m;
+    // Maximum edge cost in this graph.
+    private double maxCost;
+    // Whether every edge cost in this graph is integral.
+    private boolean integral;
+    // Number of modifications of this graph.
+    private volatile long version;
+    // Snapshot of this graph, or null if this graph is not frozen.
+    private volatile DijkstraSnapshot snapshot;
+    // Search state of each thread querying this graph.
+    private final ThreadLocal<SearchState> states;
+    // Listener of searches of this graph, or null if searches are not
+    // observed.
+    private volatile SearchListener listener;
+    // Whether reverse adjacency lists are kept, i.e., since the first
+    // bidirectional search of this graph.
+    private volatile boolean reversed;
+    // Shortest path trees kept up to date by this graph, guarded by its own
+    // lock since trees are registered by concurrent queries.
+    private final List<WeakReference<ShortestPathTree>> trees;
 
     /**
-     * Construct graph object.
+     * Construct graph object with double precision edge costs.
      */
     public DijkstraGraph() {
+        this(CostStorage.DOUBLE);
+    }
+
+    /**
+     * Construct graph object with given storage of edge costs. Edge costs are
+     * rounded to the precision of the given storage as they are added.
+     *
+     * @param storage the storage of edge costs.
+     */
+    public DijkstraGraph(CostStorage storage) {
+        this.storage = checkNotNull(storage);
         map = new HashMap<String, Vertex>();
+        list = new ArrayList<Vertex>();
+        m = 0;
+        maxCost = 0;
+        integral = true;
+        version = 0;
+        snapshot = null;
+        reversed = false;
+        states = new ThreadLocal<SearchState>();
+        trees = new ArrayList<WeakReference<ShortestPathTree>>();
     }
 
     @Override
@@ -36,14 +98,7 @@ public class DijkstraGraph extends WeightedGraph {
     public boolean containsEdge(String tail, String head) {
         if (containsVertex(tail) && containsVertex(head)) {
             // graph contains end-points
-            Vertex u = map.get(tail);
-            for (Edge e : u.adj) {
-                Vertex v = e.head;
-                if (head.equals(v.name)) {
-                    // found edge
-                    return true;
-                }
-            }
+            return map.get(tail).adj.indexOf(map.get(head).index) >= 0;
         }
         // graph does not contain edge
         return false;
@@ -56,9 +111,20 @@ public class DijkstraGraph extends WeightedGraph {
             throw new GraphException("vertex already exists");
         }
         // create vertex object
-        Vertex v = new Vertex(name);
+        Vertex v = new Vertex(name, list.size(), storage);
+        if (reversed) {
+            v.radj = new AdjacencyList(storage);
+        }
         // map name to vertex object
         map.put(name, v);
+        list.add(v);
+        version++;
+        // discard stale snapshot
+        snapshot = null;
+        // add unreachable vertex to each tree
+        for (ShortestPathTree tree : trees()) {
+            tree.grow(list.size());
+        }
     }
 
     // pre : end-points exist, edge is simple, and cost is positive
@@ -74,18 +140,185 @@ public class DijkstraGraph extends WeightedGraph {
         if (cost < 0) {
             throw new GraphException("negative edge cost");
         }
+        cost = storage.round(cost);
         // add edge to graph
         Vertex u = map.get(tail);
         Vertex v = map.get(head);
-        Edge e = new Edge(v, cost);
-        // add e to adjacency list for u
-        u.adj.add(e);
+        // add edge to adjacency list for u
+        u.adj.add(v.index, cost);
+        if (reversed) {
+            // add reversed edge to reverse adjacency list for v
+            v.radj.add(u.index, cost);
+        }
+        m++;
+        maxCost = Math.max(maxCost, cost);
+        integral = integral && cost == Math.floor(cost);
+        version++;
+        // discard stale snapshot
+        snapshot = null;
+        repair(u.index, v.index, cost);
+    }
+
+    /**
+     * Lowers the cost of an edge of this graph with given end-points to a
+     * given cost.
+     *
+     * @param tail the name of the tail of the given edge.
+     * @param head the name of the head of the given edge.
+     * @param cost the new cost of the given edge.
+     * @throws GraphException if this graph does not contain the given edge,
+     *                        or if the given cost is negative or greater than
+     *                        the current cost of the edge.
+     */
+    public void decreaseEdgeCost(String tail, String head, double cost) {
+        // check preconditions
+        Vertex u = vertex(tail);
+        Vertex v = vertex(head);
+        int i = u.adj.indexOf(v.index);
+        if (i < 0) {
+            throw new GraphException("edge not found");
+        }
+        if (cost < 0) {
+            throw new GraphException("negative edge cost");
+        }
+        cost = storage.round(cost);
+        if (cost > u.adj.cost(i)) {
+            throw new GraphException("edge cost increased");
+        }
+        // lower cost of edge and its reversed edge
+        u.adj.setCost(i, cost);
+        if (reversed) {
+            v.radj.setCost(v.radj.indexOf(u.index), cost);
+        }
+        integral = integral && cost == Math.floor(cost);
+        version++;
+        // discard stale snapshot
+        snapshot = null;
+        repair(u.index, v.index, cost);
+    }
+
+    /**
+     * Computes the minimum cost of a path in this graph from a given vertex to
+     * every vertex in this graph, as a tree which this graph keeps up to date
+     * as edges are added or become cheaper. The tree is no longer updated
+     * once it is garbage collected.
+     *
+     * @param name the name of the source vertex.
+     * @return a new shortest path tree from the given vertex.
+     * @throws GraphException if this graph does not contain the given vertex.
+     */
+    public ShortestPathTree shortestPathTree(String name) {
+        Vertex s = vertex(name);
+        SearchState state = search(s, null, defaultStrategy());
+        int n = list.size();
+        int[] last = new int[n];
+        for (int v = 0; v < n; v++) {
+            last[v] = state.cost(v) == INFINITY ? SearchState.NONE
+                    : state.last[v];
+        }
+        ShortestPathTree tree = new ShortestPathTree(s.index, state.costs(n),
+                last);
+        register(tree);
+        return tree;
+    }
+
+    /**
+     * Sets the listener which receives the metrics of each single-direction
+     * search of this graph, i.e., each search which does not use
+     * {@link SearchStrategy#BIDIRECTIONAL}, including the searches which run
+     * against the snapshot of this graph. The listener is called by the
+     * thread which ran the search.
+     * <p>
+     * NOTE: Searches always count their work in local variables, which costs
+     *       next to nothing. The clock is only read and metrics are only
+     *       created while a listener is set.
+     *
+     * @param listener the listener, or <code>null</code> to stop observing
+     *                 searches.
+     * @see SearchHistograms
+     */
+    public void setSearchListener(SearchListener listener) {
+        this.listener = listener;
+        DijkstraSnapshot frozen = snapshot;
+        if (frozen != null) {
+            frozen.setSearchListener(listener);
+        }
+    }
+
+    /**
+     * Returns the version of this graph, which is incremented each time a
+     * vertex or edge is added to this graph. Results computed at the same
+     * version are consistent with each other.
+     *
+     * @return the version of this graph.
+     * @see PathCache
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Checks if this graph is frozen, i.e., if queries are answered by a
+     * snapshot of this graph.
+     *
+     * @return <code>true</code> if this graph is frozen, otherwise
+     * <code>false</code>.
+     */
+    public boolean isFrozen() {
+        return snapshot != null;
+    }
+
+    /**
+     * Freezes this graph by compiling it into an immutable snapshot. Queries
+     * are answered by the snapshot until a vertex or edge is added to this
+     * graph, which discards the snapshot.
+     * <p>
+     * NOTE: The time-complexity is <em>O(m + n)</em>, where <em>m</em> is the
+     * number of edges and <em>n</em> is the number of vertices.
+     *
+     * @return the snapshot of this graph.
+     */
+    public DijkstraSnapshot freeze() {
+        DijkstraSnapshot result = snapshot;
+        if (result == null) {
+            result = compile();
+            result.setSearchListener(listener);
+            snapshot = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the id of a given vertex. Vertices are numbered from
+     * <code>0</code> in the order they are added to this graph, and the id
+     * of a vertex is its index in the arrays returned by
+     * {@link #minimumCosts(String)}. A vertex has the same id in each
+     * snapshot of this graph.
+     *
+     * @param name the name of the given vertex.
+     * @return the id of the given vertex.
+     * @throws GraphException if this graph does not contain the given vertex.
+     */
+    public int indexOf(String name) {
+        return vertex(name).index;
+    }
+
+    /**
+     * Returns the name of a vertex with a given id.
+     *
+     * @param id the id of the given vertex.
+     * @return the name of the given vertex.
+     * @throws IndexOutOfBoundsException if the given id is illegal.
+     */
+    public String nameOf(int id) {
+        return list.get(id).name;
     }
 
     /**
      * Computes the minimum cost of a path in this graph between two given
      * vertices if the given vertices are in the same connected component of
-     * this graph.
+     * this graph. The search stops as soon as the minimum cost of a path to
+     * the ending vertex is known.
      *
      * @param name1 the name of the beginning vertex.
      * @param name2 the name of the ending vertex.
@@ -94,156 +327,627 @@ public class DijkstraGraph extends WeightedGraph {
      * this graph.
      */
     public double minimumCostPath(String name1, String name2) {
-        return dijkstra1(name1, name2);
+        DijkstraSnapshot frozen = snapshot;
+        if (frozen != null) {
+            return frozen.minimumCostPath(name1, name2);
+        }
+        return minimumCostPath(name1, name2, defaultStrategy());
+    }
+
+    /**
+     * Computes the minimum cost of a path in this graph between two given
+     * vertices using a given search strategy. The search stops as soon as the
+     * minimum cost of a path to the ending vertex is known.
+     *
+     * @param name1    the name of the beginning vertex.
+     * @param name2    the name of the ending vertex.
+     * @param strategy the strategy used to organize the search.
+     * @return the minimum cost of a path in this graph between two given
+     * vertices if the given vertices are in the same connected component of
+     * this graph.
+     * @throws GraphException if this graph does not contain the given
+     *                        vertices, or if the given strategy is
+     *                        {@link SearchStrategy#BUCKET_QUEUE} and some
+     *                        edge cost is not a small integer.
+     */
+    public double minimumCostPath(String name1, String name2,
+                                  SearchStrategy strategy) {
+        checkNotNull(strategy);
+        DijkstraSnapshot frozen = snapshot;
+        if (frozen != null) {
+            return frozen.minimumCostPath(name1, name2, strategy);
+        }
+        Vertex s = vertex(name1);
+        Vertex t = vertex(name2);
+        if (strategy == SearchStrategy.BIDIRECTIONAL) {
+            if (!reversed) {
+                reverse();
+            }
+            SearchState state = SearchState.acquire(states, list.size());
+            return dijkstra3(s.index, t.index, state, state.reverse());
+        }
+        return search(s, t, strategy).cost(t.index);
+    }
+
+    /**
+     * Computes the minimum cost of a path in this graph between two given
+     * vertices using A* search directed by a given heuristic. Vertices are
+     * identified by id in the heuristic. This graph is frozen if it is not
+     * already, and the search runs against its snapshot.
+     *
+     * @param name1     the name of the beginning vertex.
+     * @param name2     the name of the ending vertex.
+     * @param heuristic the consistent heuristic used to direct the search.
+     * @return the minimum cost of a path in this graph between two given
+     * vertices if the given vertices are in the same connected component of
+     * this graph.
+     * @throws GraphException if this graph does not contain the given
+     *                        vertices.
+     * @see #indexOf(String)
+     * @see Landmarks
+     */
+    public double minimumCostPath(String name1, String name2,
+                                  Heuristic heuristic) {
+        return freeze().minimumCostPath(name1, name2, heuristic);
+    }
+
+    /**
+     * Computes the minimum cost of a path in this graph from the closest of
+     * the given vertices to every vertex in this graph. This graph is frozen
+     * if it is not already, and the search runs against its snapshot.
+     *
+     * @param names the names of the beginning vertices.
+     * @return the minimum cost of a path from any of the given vertices to
+     * each vertex, indexed by vertex id, or {@link #INFINITY} for vertices
+     * which are not reachable from the given vertices.
+     * @throws GraphException if this graph does not contain the given
+     *                        vertices.
+     * @see #indexOf(String)
+     */
+    public double[] multiSourceCosts(String[] names) {
+        DijkstraSnapshot frozen = freeze();
+        return frozen.multiSourceCosts(ids(frozen, names));
+    }
+
+    /**
+     * Visits the vertices of this graph in order of increasing minimum cost
+     * of a path from the closest of the given vertices, until a vertex with
+     * cost greater than a given radius is reached or a given number of
+     * vertices are visited. This graph is frozen if it is not already, and
+     * the search runs against its snapshot.
+     *
+     * @param names   the names of the beginning vertices.
+     * @param radius  the maximum cost of a visited vertex.
+     * @param limit   the maximum number of visited vertices.
+     * @param visitor the visitor of settled vertices.
+     * @throws GraphException if this graph does not contain the given
+     *                        vertices.
+     * @see DijkstraSnapshot#nearest(int[], double, int, VertexVisitor)
+     */
+    public void nearest(String[] names, double radius, int limit,
+                        VertexVisitor visitor) {
+        DijkstraSnapshot frozen = freeze();
+        frozen.nearest(ids(frozen, names), radius, limit, visitor);
+    }
+
+    /**
+     * Finds a minimum cost path in this graph between two given vertices. The
+     * search runs against the snapshot of this graph if it is frozen.
+     *
+     * @param name1 the name of the beginning vertex.
+     * @param name2 the name of the ending vertex.
+     * @return a new result with the cost of the path and the vertices on it.
+     * @throws GraphException if this graph does not contain the given
+     *                        vertices.
+     */
+    public ShortestPath shortestPath(String name1, String name2) {
+        return shortestPath(name1, name2, new ShortestPath());
+    }
+
+    /**
+     * Finds a minimum cost path in this graph between two given vertices, and
+     * stores it in a given result. The previous contents of the result are
+     * overwritten and its array of ids is reused. The search runs against the
+     * snapshot of this graph if it is frozen.
+     *
+     * @param name1  the name of the beginning vertex.
+     * @param name2  the name of the ending vertex.
+     * @param result the given result.
+     * @return the given result, with the cost of the path and the vertices on
+     * it.
+     * @throws GraphException if this graph does not contain the given
+     *                        vertices.
+     * @see DijkstraSnapshot#shortestPath(int, int, ShortestPath)
+     */
+    public ShortestPath shortestPath(String name1, String name2,
+                                     ShortestPath result) {
+        checkNotNull(result);
+        DijkstraSnapshot frozen = snapshot;
+        if (frozen != null) {
+            return frozen.shortestPath(frozen.indexOf(name1),
+                    frozen.indexOf(name2), result);
+        }
+        Vertex s = vertex(name1);
+        Vertex t = vertex(name2);
+        // predecessors recorded by search give path
+        result.set(this, search(s, t, defaultStrategy()), t.index);
+        return result;
+    }
+
+    /**
+     * Computes the minimum cost of a path in this graph from a given vertex to
+     * every vertex in this graph.
+     *
+     * @param name the name of the beginning vertex.
+     * @return the minimum cost of a path from the given vertex to each vertex,
+     * indexed by vertex id, or {@link #INFINITY} for vertices which are not
+     * reachable from the given vertex.
+     * @throws GraphException if this graph does not contain the given vertex.
+     * @see #indexOf(String)
+     */
+    public double[] minimumCosts(String name) {
+        DijkstraSnapshot frozen = snapshot;
+        if (frozen != null) {
+            return frozen.minimumCosts(frozen.indexOf(name));
+        }
+        return minimumCosts(name, defaultStrategy());
+    }
+
+    /**
+     * Computes the minimum cost of a path in this graph from a given vertex to
+     * every vertex in this graph using a given search strategy.
+     *
+     * @param name     the name of the beginning vertex.
+     * @param strategy the strategy used to organize the search.
+     * @return the minimum cost of a path from the given vertex to each vertex,
+     * indexed by vertex id, or {@link #INFINITY} for vertices which are not
+     * reachable from the given vertex.
+     * @throws GraphException if this graph does not contain the given vertex,
+     *                        or if the given strategy is
+     *                        {@link SearchStrategy#BUCKET_QUEUE} and some
+     *                        edge cost is not a small integer.
+     * @see #indexOf(String)
+     */
+    public double[] minimumCosts(String name, SearchStrategy strategy) {
+        checkNotNull(strategy);
+        DijkstraSnapshot frozen = snapshot;
+        if (frozen != null) {
+            return frozen.minimumCosts(frozen.indexOf(name), strategy);
+        }
+        SearchState state = search(vertex(name), null, strategy);
+        return state.costs(list.size());
+    }
+
+    /**
+     * Computes the minimum cost of a path in this graph from each of the given
+     * beginning vertices to each of the given ending vertices. This graph is
+     * frozen if it is not already, and the searches run in parallel against
+     * its snapshot.
+     *
+     * @param names1 the names of the beginning vertices.
+     * @param names2 the names of the ending vertices.
+     * @return a new matrix where the entry in row <code>i</code> and column
+     * <code>j</code> is the minimum cost of a path from
+     * <code>names1[i]</code> to <code>names2[j]</code>, or {@link #INFINITY}
+     * if there is no such path.
+     * @throws GraphException if this graph does not contain the given
+     *                        vertices.
+     * @see DijkstraSnapshot#minimumCostMatrix(int[], int[])
+     */
+    public double[][] minimumCostMatrix(String[] names1, String[] names2) {
+        DijkstraSnapshot frozen = freeze();
+        return frozen.minimumCostMatrix(ids(frozen, names1),
+                ids(frozen, names2));
+    }
+
+    // Return id of each given vertex in given snapshot.
+    private static int[] ids(DijkstraSnapshot frozen, String[] names) {
+        int[] result = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            result[i] = frozen.indexOf(names[i]);
+        }
+        return result;
+    }
+
+    // Keep given tree up to date, forgetting dead trees.
+    private void register(ShortestPathTree tree) {
+        synchronized (trees) {
+            prune(null);
+            trees.add(new WeakReference<ShortestPathTree>(tree));
+        }
+    }
+
+    // Return live trees kept up to date by this graph, forgetting dead ones.
+    private List<ShortestPathTree> trees() {
+        synchronized (trees) {
+            if (trees.isEmpty()) {
+                return Collections.emptyList();
+            }
+            List<ShortestPathTree> result = new ArrayList<ShortestPathTree>();
+            prune(result);
+            return result;
+        }
+    }
+
+    // Remove cleared references to trees, adding live trees to given list
+    // (if not null). Caller must hold lock of trees.
+    private void prune(List<ShortestPathTree> live) {
+        Iterator<WeakReference<ShortestPathTree>> it = trees.iterator();
+        while (it.hasNext()) {
+            ShortestPathTree tree = it.next().get();
+            if (tree == null) {
+                it.remove();
+            } else if (live != null) {
+                live.add(tree);
+            }
+        }
+    }
+
+    // Repair each tree after edge with given tail and head became cheaper.
+    private void repair(int tail, int head, double cost) {
+        for (ShortestPathTree tree : trees()) {
+            repair(tree, tail, head, cost);
+        }
+    }
+
+    /*
+     * Repairs a given tree after an edge with given tail and head was added or
+     * its cost was lowered to a given cost.
+     *
+     * NOTE: Costs only decrease, so the search begins at the head of the edge
+     *       and only settles vertices whose cost decreases.
+     * NOTE: Uses (d-ary heap) priority queue of vertex ids with decrease key
+     *       operation to organize search.
+     */
+    private void repair(ShortestPathTree tree, int tail, int head,
+                        double cost) {
+        double[] c = tree.cost;
+        int[] last = tree.last;
+        if (c[tail] == INFINITY || c[tail] + cost >= c[head]) {
+            // tree is not affected
+            return;
+        }
+        SearchState state = SearchState.acquire(states, list.size());
+        IndexedHeap heap = state.indexedHeap(SearchStrategy.DARY_HEAP);
+        c[head] = c[tail] + cost;
+        last[head] = tail;
+        heap.add(head, c[head]);
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            AdjacencyList adj = list.get(u).adj;
+            for (int i = 0; i < adj.size(); i++) {
+                int v = adj.head(i);
+                double d = c[u] + adj.cost(i);
+                if (d < c[v]) {
+                    // found cheaper path to v
+                    c[v] = d;
+                    last[v] = u;
+                    if (heap.contains(v)) {
+                        heap.decreaseKey(v, d);
+                    } else {
+                        heap.add(v, d);
+                    }
+                }
+            }
+        }
+    }
+
+    // Return strategy used by queries without given strategy.
+    private SearchStrategy defaultStrategy() {
+        return bucketWidth() > 0 ? SearchStrategy.BUCKET_QUEUE
+                : SearchStrategy.BINARY_HEAP;
+    }
+
+    // Return number of buckets needed for bucket queue, or zero if some edge
+    // cost is not a small integer.
+    private int bucketWidth() {
+        return integral && maxCost < MAX_BUCKET_COST ? (int) maxCost + 1 : 0;
+    }
+
+    /*
+     * Searches this graph from a given source vertex using a given strategy
+     * until a given target vertex is settled, or until every vertex reachable
+     * from the source vertex is settled if the target vertex is null. Returns
+     * the search state of the current thread.
+     */
+    private SearchState search(Vertex s, Vertex t, SearchStrategy strategy) {
+        SearchListener observer = listener;
+        long start = observer == null ? 0 : System.nanoTime();
+        SearchState state = SearchState.acquire(states, list.size());
+        int target = t == null ? SearchState.NONE : t.index;
+        if (strategy == SearchStrategy.BINARY_HEAP) {
+            dijkstra1(s.index, target, state, state.pathHeap());
+        } else if (strategy == SearchStrategy.BUCKET_QUEUE) {
+            int width = bucketWidth();
+            if (width == 0) {
+                throw new GraphException("edge cost not small integer");
+            }
+            dijkstra1(s.index, target, state, state.bucketQueue(width));
+        } else {
+            dijkstra2(s.index, target, state, state.indexedHeap(strategy));
+        }
+        if (observer != null) {
+            observer.searched(new SearchMetrics(strategy, state.pushes,
+                    state.stalePops, state.relaxations, state.settled,
+                    System.nanoTime() - start));
+        }
+        return state;
     }
 
     /*
      * Dijkstra's algorithm computes minimum cost path in this graph from a
      * given source vertex to all other vertexes in the connected component of
-     * this graph containing the source vertex.
+     * this graph containing the source vertex. The search stops early once a
+     * given target vertex (if not NONE) is settled.
      *
-     * NOTE: Uses (binary min heap) priority queue to organize search.
+     * NOTE: Uses (binary min heap or bucket queue) priority queue of paths
+     *       without decrease key operation to organize search.
      * NOTE: Algorithm is similar to BFS.
-     *
-     * TODO: document running time
+     * NOTE: The time-complexity is O(m * log(m)) with a binary min heap, and
+     *       O(m + n * C) with a bucket queue, where m is the number of edges,
+     *       n is the number of vertices, and C is the maximum edge cost.
      */
-    private double dijkstra1(String name1, String name2) {
-        // check preconditions
-        if (!containsVertex(name1) || !containsVertex(name2)) {
-            throw new GraphException("vertex not found");
-        }
-        // initialize bookkeeping fields
-        reset();
-        double result = INFINITY;
-        // use priority queue to organize search
-        PriorityQueue<Path> heap = new PriorityQueue<Path>();
+    private void dijkstra1(int source, int target, SearchState state,
+                           PathQueue heap) {
+        double[] cost = state.cost;
+        int[] last = state.last;
+        Color[] color = state.color;
         // begin search at source vertex
-        Vertex s = map.get(name1);
-        s.cost = 0;
+        state.visit(source);
+        cost[source] = 0;
         // explore s
-        s.color = Color.GRAY;
-        heap.add(new Path(s, 0));
+        color[source] = Color.GRAY;
+        heap.add(source, 0);
+        // counters of work done by search
+        int pushes = 1;
+        int stalePops = 0;
+        int relaxations = 0;
+        int settled = 0;
         while (!heap.isEmpty()) {
-            Vertex u = heap.poll().last;
-            if (u.color != Color.BLACK) {
-                for (Edge e : u.adj) {
-                    Vertex v = e.head;
-                    if (v.color != Color.BLACK) {
-                        // explore v
-                        v.color = Color.GRAY;
-                        double cost = u.cost + e.cost;
-                        if (v.cost > cost) {
-                            v.cost = cost;
-                            v.last = u;
-                            heap.add(new Path(v, cost));
-                        }
+            int u = heap.poll();
+            if (color[u] == Color.BLACK) {
+                // skip stale path
+                stalePops++;
+                continue;
+            }
+            AdjacencyList adj = list.get(u).adj;
+            for (int i = 0; i < adj.size(); i++) {
+                int v = adj.head(i);
+                state.visit(v);
+                relaxations++;
+                if (color[v] != Color.BLACK) {
+                    // explore v
+                    color[v] = Color.GRAY;
+                    double c = cost[u] + adj.cost(i);
+                    if (cost[v] > c) {
+                        cost[v] = c;
+                        last[v] = u;
+                        heap.add(v, c);
+                        pushes++;
                     }
                 }
-                // u fully explored
-                u.color = Color.BLACK;
-                if (u.name.equals(name2)) {
-                    result = u.cost;
-                }
+            }
+            // u fully explored
+            color[u] = Color.BLACK;
+            settled++;
+            if (u == target) {
+                // target settled
+                break;
             }
         }
-        return result;
+        state.count(pushes, stalePops, relaxations, settled);
     }
 
     /*
      * Dijkstra's algorithm computes minimum cost path in this graph from a
      * given source vertex to all other vertexes in the connected component of
-     * this graph containing the source vertex.
+     * this graph containing the source vertex. The search stops early once a
+     * given target vertex (if not NONE) is settled.
      *
-     * NOTE: Uses (pairing heap) priority queue with decrease key operation to
-     *       organize search.
+     * NOTE: Uses (pairing heap or d-ary heap) priority queue of vertex ids
+     *       with decrease key operation to organize search, so the heap holds
+     *       at most n entries.
      * NOTE: Algorithm is similar to BFS.
-     *
-     * TODO: document running time
+     * NOTE: The time-complexity is O(m + n * log(n)) with a pairing heap
+     *       (amortized), and O(m * log(n)) with a d-ary heap, where m is the
+     *       number of edges and n is the number of vertices.
      */
-    private double dijkstra2(String name1, String name2) {
-        // TODO: implement
-        throw new RuntimeException("method not implemented");
+    private void dijkstra2(int source, int target, SearchState state,
+                           IndexedHeap heap) {
+        double[] cost = state.cost;
+        int[] last = state.last;
+        Color[] color = state.color;
+        // begin search at source vertex
+        state.visit(source);
+        cost[source] = 0;
+        // explore s
+        color[source] = Color.GRAY;
+        heap.add(source, 0);
+        // counters of work done by search
+        int pushes = 1;
+        int relaxations = 0;
+        int settled = 0;
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            AdjacencyList adj = list.get(u).adj;
+            for (int i = 0; i < adj.size(); i++) {
+                int v = adj.head(i);
+                state.visit(v);
+                relaxations++;
+                double c = cost[u] + adj.cost(i);
+                if (color[v] == Color.WHITE) {
+                    // explore v
+                    color[v] = Color.GRAY;
+                    cost[v] = c;
+                    last[v] = u;
+                    heap.add(v, c);
+                    pushes++;
+                } else if (color[v] == Color.GRAY && cost[v] > c) {
+                    // found cheaper path to v
+                    cost[v] = c;
+                    last[v] = u;
+                    heap.decreaseKey(v, c);
+                }
+            }
+            // u fully explored
+            color[u] = Color.BLACK;
+            settled++;
+            if (u == target) {
+                // target settled
+                break;
+            }
+        }
+        state.count(pushes, 0, relaxations, settled);
     }
 
-    // Reset bookkeeping fields to default values for each vertex in graph.
-    private void reset() {
-        for (Vertex v : map.values()) {
-            v.reset();
+    /*
+     * Bidirectional Dijkstra's algorithm computes minimum cost path in this
+     * graph between two given vertices by searching forward from the source
+     * vertex and backward from the target vertex, one vertex at a time from
+     * whichever side has the smaller minimum cost.
+     *
+     * NOTE: Uses (d-ary heap) priority queue of vertex ids with decrease key
+     *       operation in each direction to organize search.
+     * NOTE: Stops once the sum of the minimum costs in both heaps is at least
+     *       the cost of the best path found so far.
+     */
+    private double dijkstra3(int source, int target, SearchState forward,
+                             SearchState backward) {
+        IndexedHeap heap1 = forward.indexedHeap(SearchStrategy.DARY_HEAP);
+        IndexedHeap heap2 = backward.indexedHeap(SearchStrategy.DARY_HEAP);
+        // begin forward search at source vertex
+        forward.visit(source);
+        forward.cost[source] = 0;
+        forward.color[source] = Color.GRAY;
+        heap1.add(source, 0);
+        // begin backward search at target vertex
+        backward.visit(target);
+        backward.cost[target] = 0;
+        backward.color[target] = Color.GRAY;
+        heap2.add(target, 0);
+        double best = source == target ? 0 : INFINITY;
+        while (!heap1.isEmpty() && !heap2.isEmpty()
+                && heap1.minKey() + heap2.minKey() < best) {
+            if (heap1.minKey() <= heap2.minKey()) {
+                int u = heap1.poll();
+                best = scan(u, list.get(u).adj, forward, backward, heap1,
+                        best);
+            } else {
+                int u = heap2.poll();
+                best = scan(u, list.get(u).radj, backward, forward, heap2,
+                        best);
+            }
         }
+        return best;
     }
 
-    // Vertex represents a vertex of a graph.
-    private static class Vertex {
-        // Name of this vertex.
-        public final String name;
-        // Adjacency list for this vertex.
-        public List<Edge> adj;
-        // TODO: add field for position in pairing heap of path to this vertex for dijkstra2
-
-        // Bookkeeping field for total cost of path to this vertex.
-        public double cost;
-        // Bookkeeping field for last vertex in path to this vertex.
-        public Vertex last;
-        // Bookkeeping field for color of this vertex.
-        public Color color;
-
-        // Construct vertex with given name.
-        public Vertex(String name) {
-            this.name = name;
-            adj = new LinkedList<Edge>();
-            reset();
+    /*
+     * Settles a given vertex with given (forward or reverse) adjacency list in
+     * one direction of a bidirectional search and returns the cost of the best
+     * path found so far.
+     */
+    private static double scan(int u, AdjacencyList adj, SearchState state,
+                               SearchState other, IndexedHeap heap,
+                               double best) {
+        double[] cost = state.cost;
+        int[] last = state.last;
+        Color[] color = state.color;
+        for (int i = 0; i < adj.size(); i++) {
+            int v = adj.head(i);
+            state.visit(v);
+            double c = cost[u] + adj.cost(i);
+            if (color[v] == Color.WHITE) {
+                // explore v
+                color[v] = Color.GRAY;
+                cost[v] = c;
+                last[v] = u;
+                heap.add(v, c);
+            } else if (color[v] == Color.GRAY && cost[v] > c) {
+                // found cheaper path to v
+                cost[v] = c;
+                last[v] = u;
+                heap.decreaseKey(v, c);
+            }
+            // check for cheaper path through v
+            best = Math.min(best, c + other.cost(v));
         }
+        // u fully explored
+        color[u] = Color.BLACK;
+        return best;
+    }
 
-        // Set bookkeeping fields to default values for this vertex.
-        public void reset() {
-            cost = INFINITY;
-            last = null;
-            color = Color.WHITE;
+    /*
+     * Builds the reverse adjacency list of each vertex, which is kept up to
+     * date from then on. Only bidirectional searches of this graph use the
+     * reverse adjacency lists, so other graphs never pay for them.
+     */
+    private synchronized void reverse() {
+        if (reversed) {
+            // built by another thread
+            return;
+        }
+        for (Vertex v : list) {
+            v.radj = new AdjacencyList(storage);
         }
+        for (Vertex u : list) {
+            AdjacencyList adj = u.adj;
+            for (int i = 0; i < adj.size(); i++) {
+                list.get(adj.head(i)).radj.add(u.index, adj.cost(i));
+            }
+        }
+        reversed = true;
     }
 
-    // Edge represents a weighted and directed edge of a graph.
-    private static class Edge {
-        // Head of this edge.
-        public final Vertex head;
-        // Cost of this edge.
-        public final double cost;
-
-        // Construct edge with given head and cost.
-        public Edge(Vertex head, double cost) {
-            this.head = head;
-            this.cost = cost;
+    // Return vertex with given name or throw GraphException if not found.
+    private Vertex vertex(String name) {
+        Vertex v = map.get(checkNotNull(name));
+        if (v == null) {
+            throw new GraphException("vertex not found");
         }
+        return v;
     }
 
-    /*
-     * Path is an element of a priority queue used to organize search for
-     * Dijkstra's algorithm.
-     */
-    private static class Path implements Comparable<Path> {
-        // Last vertex in this path.
-        public Vertex last;
-        // Cost of this path.
-        public double cost;
-
-        // Construct path with given last vertex and cost.
-        public Path(Vertex last, double cost) {
-            this.last = last;
-            this.cost = cost;
-        }
-
-        // Compare cost of this path with cost of given path.
-        public int compareTo(Path other) {
-            if (cost < other.cost) {
-                // cost of this path is less than other
-                return -1;
-            } else if (cost > other.cost) {
-                // cost of this path is greater than other
-                return 1;
-            } else {
-                // cost of this path is equal to other
-                return 0;
+    // Compile this graph into compressed sparse row form.
+    private DijkstraSnapshot compile() {
+        int n = list.size();
+        String[] names = new String[n];
+        Map<String, Integer> ids = new HashMap<String, Integer>();
+        int[] offsets = new int[n + 1];
+        int[] heads = new int[m];
+        CostColumn costs = CostColumn.create(storage, m);
+        int i = 0;
+        for (Vertex u : list) {
+            names[u.index] = u.name;
+            ids.put(u.name, u.index);
+            offsets[u.index] = i;
+            for (int j = 0; j < u.adj.size(); j++) {
+                heads[i] = u.adj.head(j);
+                costs.set(i, u.adj.cost(j));
+                i++;
             }
         }
+        offsets[n] = i;
+        return new DijkstraSnapshot(names, ids, offsets, heads, costs);
+    }
+
+    // Vertex represents a vertex of a graph.
+    private static class Vertex {
+        // Name of this vertex.
+        public final String name;
+        // Index of this vertex.
+        public final int index;
+        // Adjacency list for this vertex.
+        public final AdjacencyList adj;
+        // Reverse adjacency list for this vertex, i.e., reversed edges with
+        // this vertex as head, or null until first bidirectional search.
+        public AdjacencyList radj;
+
+        // Construct vertex with given name, index and storage of edge costs.
+        public Vertex(String name, int index, CostStorage storage) {
+            this.name = name;
+            this.index = index;
+            adj = new AdjacencyList(storage);
+            radj = null;
+        }
     }
 }
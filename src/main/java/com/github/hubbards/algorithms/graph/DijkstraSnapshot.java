@@ -0,0 +1,958 @@
+package com.github.hubbards.algorithms.graph;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * DijkstraSnapshot is an immutable snapshot of a {@link DijkstraGraph}. The
+ * edges of the graph are compiled into compressed sparse row (CSR) form: the
+ * edges with tail <code>v</code> are stored at positions
+ * <code>offsets[v]</code> (inclusive) to <code>offsets[v + 1]</code>
+ * (exclusive) of the primitive arrays <code>heads</code> and
+ * <code>costs</code>. Each vertex is identified by an integer id between
+ * <code>0</code> (inclusive) and the number of vertices (exclusive). The
+ * reversed edges are stored in the same form for backward searches.
+ * <p>
+ * The costs are stored with the {@link CostStorage} of the graph, so the
+ * cost columns of a snapshot of a graph with single precision or integral
+ * costs take four instead of eight bytes per cost. The heads, tails, and
+ * offsets are unchanged, so this saves a third of the memory per edge of a
+ * snapshot. Once frozen, a snapshot does not refer to its graph, which may be
+ * discarded to save memory.
+ * <p>
+ * Queries against a snapshot only touch contiguous primitive arrays, which
+ * avoids the pointer chasing of the adjacency lists of a mutable graph. A
+ * snapshot is safe for use by multiple concurrent threads, where each thread
+ * reuses its own pooled search state.
+ *
+ * @author Spencer Hubbard
+ * @see DijkstraGraph#freeze()
+ */
+public final class DijkstraSnapshot {
+    // Name of each vertex indexed by id.
+    private final String[] names;
+    // Map name of vertex to id.
+    private final Map<String, Integer> ids;
+    // Offset of first edge with tail v, for each vertex id v.
+    private final int[] offsets;
+    // Head of each edge.
+    private final int[] heads;
+    // Cost of each edge.
+    private final CostColumn costs;
+    // Offset of first reversed edge with head v, for each vertex id v.
+    private final int[] reverseOffsets;
+    // Tail of each reversed edge.
+    private final int[] tails;
+    // Cost of each reversed edge.
+    private final CostColumn reverseCosts;
+    // Number of buckets of bucket queue, or zero if some edge cost is not a
+    // small integer.
+    private final int bucketWidth;
+    // Search state of each thread querying this snapshot.
+    private final ThreadLocal<SearchState> states;
+    // Snapshot with reversed edges, created on demand.
+    private volatile DijkstraSnapshot reverse;
+    // Listener of searches of this snapshot, or null if searches are not
+    // observed.
+    private volatile SearchListener listener;
+
+    // Construct snapshot with given vertices and edges in CSR form.
+    DijkstraSnapshot(String[] names, Map<String, Integer> ids, int[] offsets,
+                     int[] heads, CostColumn costs) {
+        this.names = names;
+        this.ids = ids;
+        this.offsets = offsets;
+        this.heads = heads;
+        this.costs = costs;
+        // compile reversed edges by counting sort on head
+        int n = names.length;
+        reverseOffsets = new int[n + 1];
+        for (int v : heads) {
+            reverseOffsets[v + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            reverseOffsets[v + 1] += reverseOffsets[v];
+        }
+        tails = new int[heads.length];
+        reverseCosts = CostColumn.create(costs.storage(),
+                heads.length);
+        int[] next = Arrays.copyOf(reverseOffsets, n);
+        for (int u = 0; u < n; u++) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int j = next[heads[i]]++;
+                tails[j] = u;
+                reverseCosts.set(j, costs.get(i));
+            }
+        }
+        // check if edge costs are small integers
+        double max = 0;
+        boolean integral = true;
+        for (int i = 0; i < heads.length; i++) {
+            double c = costs.get(i);
+            max = Math.max(max, c);
+            integral = integral && c == Math.floor(c);
+        }
+        bucketWidth = integral && max < DijkstraGraph.MAX_BUCKET_COST
+                ? (int) max + 1 : 0;
+        states = new ThreadLocal<SearchState>();
+    }
+
+    // Construct snapshot with reversed edges of given snapshot.
+    private DijkstraSnapshot(DijkstraSnapshot other) {
+        names = other.names;
+        ids = other.ids;
+        offsets = other.reverseOffsets;
+        heads = other.tails;
+        costs = other.reverseCosts;
+        reverseOffsets = other.offsets;
+        tails = other.heads;
+        reverseCosts = other.costs;
+        bucketWidth = other.bucketWidth;
+        states = new ThreadLocal<SearchState>();
+        reverse = other;
+    }
+
+    /**
+     * Returns a snapshot of the reverse of this snapshot, i.e., with the same
+     * vertices and with the direction of each edge reversed. The reverse
+     * snapshot shares its arrays with this snapshot.
+     *
+     * @return the reverse of this snapshot.
+     */
+    public DijkstraSnapshot reverse() {
+        DijkstraSnapshot result = reverse;
+        if (result == null) {
+            result = new DijkstraSnapshot(this);
+            reverse = result;
+        }
+        return result;
+    }
+
+    /**
+     * Sets the listener which receives the metrics of each single-direction
+     * search of this snapshot, i.e., each search which does not use
+     * {@link SearchStrategy#BIDIRECTIONAL}. Each row of a minimum cost matrix
+     * is a search of its own. The listener is called by the thread which ran
+     * the search.
+     *
+     * @param listener the listener, or <code>null</code> to stop observing
+     *                 searches.
+     * @see DijkstraGraph#setSearchListener(SearchListener)
+     */
+    public void setSearchListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Returns the number of vertices in this snapshot.
+     *
+     * @return the number of vertices in this snapshot.
+     */
+    public int vertexCount() {
+        return names.length;
+    }
+
+    /**
+     * Returns the number of edges in this snapshot.
+     *
+     * @return the number of edges in this snapshot.
+     */
+    public int edgeCount() {
+        return heads.length;
+    }
+
+    // Return position of first edge with given tail, or number of edges if
+    // given tail is number of vertices.
+    int edgeOffset(int tail) {
+        return offsets[tail];
+    }
+
+    // Return head of edge at given position.
+    int edgeHead(int i) {
+        return heads[i];
+    }
+
+    // Return cost of edge at given position.
+    double edgeCost(int i) {
+        return costs.get(i);
+    }
+
+    /**
+     * Returns the storage of the edge costs of this snapshot.
+     *
+     * @return the storage of the edge costs of this snapshot.
+     */
+    public CostStorage costStorage() {
+        return costs.storage();
+    }
+
+    /**
+     * Checks if this snapshot contains a given vertex.
+     *
+     * @param name the name of the given vertex.
+     * @return <code>true</code> if this snapshot contains the given vertex,
+     * otherwise <code>false</code>.
+     */
+    public boolean containsVertex(String name) {
+        checkNotNull(name);
+        return ids.containsKey(name);
+    }
+
+    /**
+     * Returns the id of a given vertex.
+     *
+     * @param name the name of the given vertex.
+     * @return the id of the given vertex.
+     * @throws GraphException if this snapshot does not contain the given
+     *                        vertex.
+     */
+    public int indexOf(String name) {
+        Integer id = ids.get(checkNotNull(name));
+        if (id == null) {
+            throw new GraphException("vertex not found");
+        }
+        return id;
+    }
+
+    /**
+     * Returns the name of a vertex with a given id.
+     *
+     * @param id the id of the given vertex.
+     * @return the name of the given vertex.
+     * @throws IndexOutOfBoundsException if the given id is illegal.
+     */
+    public String nameOf(int id) {
+        checkId(id);
+        return names[id];
+    }
+
+    /**
+     * Computes the minimum cost of a path in this snapshot between two given
+     * vertices if the given vertices are in the same connected component of
+     * this snapshot. The search stops as soon as the minimum cost of a path
+     * to the ending vertex is known.
+     *
+     * @param name1 the name of the beginning vertex.
+     * @param name2 the name of the ending vertex.
+     * @return the minimum cost of a path between the given vertices, or
+     * {@link DijkstraGraph#INFINITY} if there is no such path.
+     * @throws GraphException if this snapshot does not contain the given
+     *                        vertices.
+     */
+    public double minimumCostPath(String name1, String name2) {
+        return minimumCostPath(indexOf(name1), indexOf(name2));
+    }
+
+    /**
+     * Computes the minimum cost of a path in this snapshot between two given
+     * vertices using a given search strategy.
+     *
+     * @param name1    the name of the beginning vertex.
+     * @param name2    the name of the ending vertex.
+     * @param strategy the strategy used to organize the search.
+     * @return the minimum cost of a path between the given vertices, or
+     * {@link DijkstraGraph#INFINITY} if there is no such path.
+     * @throws GraphException if this snapshot does not contain the given
+     *                        vertices.
+     */
+    public double minimumCostPath(String name1, String name2,
+                                  SearchStrategy strategy) {
+        return minimumCostPath(indexOf(name1), indexOf(name2), strategy);
+    }
+
+    /**
+     * Computes the minimum cost of a path in this snapshot between two
+     * vertices with given ids.
+     *
+     * @param source the id of the beginning vertex.
+     * @param target the id of the ending vertex.
+     * @return the minimum cost of a path between the given vertices, or
+     * {@link DijkstraGraph#INFINITY} if there is no such path.
+     * @throws IndexOutOfBoundsException if a given id is illegal.
+     */
+    public double minimumCostPath(int source, int target) {
+        return minimumCostPath(source, target, defaultStrategy());
+    }
+
+    /**
+     * Computes the minimum cost of a path in this snapshot between two
+     * vertices with given ids using a given search strategy.
+     *
+     * @param source   the id of the beginning vertex.
+     * @param target   the id of the ending vertex.
+     * @param strategy the strategy used to organize the search.
+     * @return the minimum cost of a path between the given vertices, or
+     * {@link DijkstraGraph#INFINITY} if there is no such path.
+     * @throws IndexOutOfBoundsException if a given id is illegal.
+     * @throws GraphException            if the given strategy is
+     *                                   {@link SearchStrategy#BUCKET_QUEUE}
+     *                                   and some edge cost is not a small
+     *                                   integer.
+     */
+    public double minimumCostPath(int source, int target,
+                                  SearchStrategy strategy) {
+        checkNotNull(strategy);
+        checkId(source);
+        checkId(target);
+        if (strategy == SearchStrategy.BIDIRECTIONAL) {
+            SearchState state = SearchState.acquire(states, names.length);
+            return dijkstra3(source, target, state, state.reverse());
+        }
+        return search(source, target, strategy).cost(target);
+    }
+
+    /**
+     * Computes the minimum cost of a path in this snapshot between two given
+     * vertices using A* search directed by a given heuristic.
+     *
+     * @param name1     the name of the beginning vertex.
+     * @param name2     the name of the ending vertex.
+     * @param heuristic the consistent heuristic used to direct the search.
+     * @return the minimum cost of a path between the given vertices, or
+     * {@link DijkstraGraph#INFINITY} if there is no such path.
+     * @throws GraphException if this snapshot does not contain the given
+     *                        vertices.
+     */
+    public double minimumCostPath(String name1, String name2,
+                                  Heuristic heuristic) {
+        return minimumCostPath(indexOf(name1), indexOf(name2), heuristic);
+    }
+
+    /**
+     * Computes the minimum cost of a path in this snapshot between two
+     * vertices with given ids using A* search directed by a given heuristic.
+     *
+     * @param source    the id of the beginning vertex.
+     * @param target    the id of the ending vertex.
+     * @param heuristic the consistent heuristic used to direct the search.
+     * @return the minimum cost of a path between the given vertices, or
+     * {@link DijkstraGraph#INFINITY} if there is no such path.
+     * @throws IndexOutOfBoundsException if a given id is illegal.
+     * @see Landmarks
+     */
+    public double minimumCostPath(int source, int target,
+                                  Heuristic heuristic) {
+        checkNotNull(heuristic);
+        checkId(source);
+        checkId(target);
+        SearchListener observer = listener;
+        long start = observer == null ? 0 : System.nanoTime();
+        SearchState state = SearchState.acquire(states, names.length);
+        double result = astar(source, target, heuristic, state);
+        report(observer, SearchStrategy.DARY_HEAP, state, start);
+        return result;
+    }
+
+    /**
+     * Finds a minimum cost path in this snapshot between two given vertices.
+     *
+     * @param name1 the name of the beginning vertex.
+     * @param name2 the name of the ending vertex.
+     * @return a new result with the cost of the path and the vertices on it.
+     * @throws GraphException if this snapshot does not contain the given
+     *                        vertices.
+     */
+    public ShortestPath shortestPath(String name1, String name2) {
+        return shortestPath(indexOf(name1), indexOf(name2));
+    }
+
+    /**
+     * Finds a minimum cost path in this snapshot between two vertices with
+     * given ids.
+     *
+     * @param source the id of the beginning vertex.
+     * @param target the id of the ending vertex.
+     * @return a new result with the cost of the path and the vertices on it.
+     * @throws IndexOutOfBoundsException if a given id is illegal.
+     */
+    public ShortestPath shortestPath(int source, int target) {
+        return shortestPath(source, target, new ShortestPath());
+    }
+
+    /**
+     * Finds a minimum cost path in this snapshot between two vertices with
+     * given ids, and stores it in a given result. The previous contents of
+     * the result are overwritten and its array of ids is reused.
+     *
+     * @param source the id of the beginning vertex.
+     * @param target the id of the ending vertex.
+     * @param result the given result.
+     * @return the given result, with the cost of the path and the vertices on
+     * it.
+     * @throws IndexOutOfBoundsException if a given id is illegal.
+     */
+    public ShortestPath shortestPath(int source, int target,
+                                     ShortestPath result) {
+        checkNotNull(result);
+        checkId(source);
+        checkId(target);
+        result.set(this, search(source, target, defaultStrategy()), target);
+        return result;
+    }
+
+    /**
+     * Computes the minimum cost of a path in this snapshot from a vertex with
+     * a given id to every vertex in this snapshot.
+     *
+     * @param source the id of the beginning vertex.
+     * @return the minimum cost of a path from the given vertex to each vertex,
+     * indexed by vertex id, or {@link DijkstraGraph#INFINITY} for vertices
+     * which are not reachable from the given vertex.
+     * @throws IndexOutOfBoundsException if the given id is illegal.
+     */
+    public double[] minimumCosts(int source) {
+        return minimumCosts(source, defaultStrategy());
+    }
+
+    /**
+     * Computes the minimum cost of a path in this snapshot from a vertex with
+     * a given id to every vertex in this snapshot using a given search
+     * strategy.
+     *
+     * @param source   the id of the beginning vertex.
+     * @param strategy the strategy used to organize the search.
+     * @return the minimum cost of a path from the given vertex to each vertex,
+     * indexed by vertex id, or {@link DijkstraGraph#INFINITY} for vertices
+     * which are not reachable from the given vertex.
+     * @throws IndexOutOfBoundsException if the given id is illegal.
+     * @throws GraphException            if the given strategy is
+     *                                   {@link SearchStrategy#BUCKET_QUEUE}
+     *                                   and some edge cost is not a small
+     *                                   integer.
+     */
+    public double[] minimumCosts(int source, SearchStrategy strategy) {
+        checkNotNull(strategy);
+        checkId(source);
+        SearchState state = search(source, SearchState.NONE, strategy);
+        return state.costs(names.length);
+    }
+
+    /**
+     * Computes the minimum cost of a path in this snapshot from the closest
+     * of the vertices with given ids to every vertex in this snapshot.
+     *
+     * @param sources the ids of the beginning vertices.
+     * @return the minimum cost of a path from any of the given vertices to
+     * each vertex, indexed by vertex id, or {@link DijkstraGraph#INFINITY}
+     * for vertices which are not reachable from the given vertices.
+     * @throws IndexOutOfBoundsException if a given id is illegal.
+     */
+    public double[] multiSourceCosts(int[] sources) {
+        SearchListener observer = listener;
+        long start = observer == null ? 0 : System.nanoTime();
+        SearchState state = SearchState.acquire(states, names.length);
+        nearest(sources, DijkstraGraph.INFINITY, Integer.MAX_VALUE, null,
+                state);
+        report(observer, SearchStrategy.DARY_HEAP, state, start);
+        return state.costs(names.length);
+    }
+
+    /**
+     * Visits the vertices of this snapshot in order of increasing minimum
+     * cost of a path from the closest of the vertices with given ids, as each
+     * vertex is settled. The search stops before the first vertex with cost
+     * greater than a given radius, or after a given number of vertices are
+     * visited, whichever comes first. The beginning vertices are visited with
+     * cost zero.
+     * <p>
+     * The visitor runs in the middle of the search, on the search state of
+     * the current thread, so it must not query this snapshot on the same
+     * thread. It may query other snapshots, such as {@link #reverse()}.
+     * <p>
+     * For example, <code>nearest(new int[]{s}, r, Integer.MAX_VALUE, v)</code>
+     * visits every vertex within cost <code>r</code> of <code>s</code>, and
+     * <code>nearest(new int[]{s}, DijkstraGraph.INFINITY, k, v)</code> visits
+     * the <code>k</code> vertices closest to <code>s</code>.
+     *
+     * @param sources the ids of the beginning vertices.
+     * @param radius  the maximum cost of a visited vertex.
+     * @param limit   the maximum number of visited vertices.
+     * @param visitor the visitor of settled vertices.
+     * @throws IndexOutOfBoundsException if a given id is illegal.
+     */
+    public void nearest(int[] sources, double radius, int limit,
+                        VertexVisitor visitor) {
+        checkNotNull(visitor);
+        SearchListener observer = listener;
+        long start = observer == null ? 0 : System.nanoTime();
+        SearchState state = SearchState.acquire(states, names.length);
+        nearest(sources, radius, limit, visitor, state);
+        report(observer, SearchStrategy.DARY_HEAP, state, start);
+    }
+
+    /**
+     * Computes the minimum cost of a path in this snapshot from each of the
+     * vertices with given source ids to each of the vertices with given target
+     * ids. The searches run in parallel in the common fork/join pool.
+     *
+     * @param sources the ids of the beginning vertices.
+     * @param targets the ids of the ending vertices.
+     * @return a new matrix where the entry in row <code>i</code> and column
+     * <code>j</code> is the minimum cost of a path from
+     * <code>sources[i]</code> to <code>targets[j]</code>, or
+     * {@link DijkstraGraph#INFINITY} if there is no such path.
+     * @throws IndexOutOfBoundsException if a given id is illegal.
+     */
+    public double[][] minimumCostMatrix(int[] sources, int[] targets) {
+        return minimumCostMatrix(sources, targets, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the minimum cost of a path in this snapshot from each of the
+     * vertices with given source ids to each of the vertices with given target
+     * ids. The searches run in parallel in a given fork/join pool.
+     * <p>
+     * NOTE: Runs one single-source search per source vertex, which stops as
+     *       soon as every target vertex is settled.
+     *
+     * @param sources the ids of the beginning vertices.
+     * @param targets the ids of the ending vertices.
+     * @param pool    the pool in which the searches run.
+     * @return a new matrix where the entry in row <code>i</code> and column
+     * <code>j</code> is the minimum cost of a path from
+     * <code>sources[i]</code> to <code>targets[j]</code>, or
+     * {@link DijkstraGraph#INFINITY} if there is no such path.
+     * @throws IndexOutOfBoundsException if a given id is illegal.
+     */
+    public double[][] minimumCostMatrix(int[] sources, int[] targets,
+                                        ForkJoinPool pool) {
+        checkNotNull(pool);
+        for (int source : sources) {
+            checkId(source);
+        }
+        // mark distinct target vertices
+        boolean[] wanted = new boolean[names.length];
+        int count = 0;
+        for (int target : targets) {
+            checkId(target);
+            if (!wanted[target]) {
+                wanted[target] = true;
+                count++;
+            }
+        }
+        double[][] matrix = new double[sources.length][targets.length];
+        pool.invoke(new MatrixTask(sources, targets, wanted, count, matrix, 0,
+                sources.length));
+        return matrix;
+    }
+
+    // Return strategy used by queries without given strategy.
+    private SearchStrategy defaultStrategy() {
+        return bucketWidth > 0 ? SearchStrategy.BUCKET_QUEUE
+                : SearchStrategy.DARY_HEAP;
+    }
+
+    /*
+     * Searches this snapshot from a given source vertex using a given strategy
+     * until a given target vertex is settled, or until every vertex reachable
+     * from the source vertex is settled if the target is NONE. Returns the
+     * search state of the current thread.
+     */
+    private SearchState search(int source, int target,
+                               SearchStrategy strategy) {
+        SearchListener observer = listener;
+        long start = observer == null ? 0 : System.nanoTime();
+        SearchState state = SearchState.acquire(states, names.length);
+        if (strategy == SearchStrategy.BINARY_HEAP) {
+            dijkstra1(source, target, state, state.pathHeap());
+        } else if (strategy == SearchStrategy.BUCKET_QUEUE) {
+            if (bucketWidth == 0) {
+                throw new GraphException("edge cost not small integer");
+            }
+            dijkstra1(source, target, state, state.bucketQueue(bucketWidth));
+        } else {
+            dijkstra2(source, target, null, 1, state,
+                    state.indexedHeap(strategy));
+        }
+        report(observer, strategy, state, start);
+        return state;
+    }
+
+    // Report metrics of last search in given state to given listener, unless
+    // listener is null.
+    private static void report(SearchListener observer,
+                               SearchStrategy strategy, SearchState state,
+                               long start) {
+        if (observer != null) {
+            observer.searched(new SearchMetrics(strategy, state.pushes,
+                    state.stalePops, state.relaxations, state.settled,
+                    System.nanoTime() - start));
+        }
+    }
+
+    /*
+     * Dijkstra's algorithm computes minimum cost path in this snapshot from a
+     * given source vertex to all other vertexes in the connected component of
+     * this snapshot containing the source vertex. The search stops early once
+     * a given target vertex (if not NONE) is settled.
+     *
+     * NOTE: Uses (binary min heap or bucket queue) priority queue of
+     *       primitive paths to organize search.
+     * NOTE: The time-complexity is O(m * log(m)) with a binary min heap, and
+     *       O(m + n * C) with a bucket queue, where m is the number of edges,
+     *       n is the number of vertices, and C is the maximum edge cost.
+     */
+    private void dijkstra1(int source, int target, SearchState state,
+                           PathQueue heap) {
+        double[] cost = state.cost;
+        int[] last = state.last;
+        Color[] color = state.color;
+        // begin search at source vertex
+        state.visit(source);
+        cost[source] = 0;
+        color[source] = Color.GRAY;
+        heap.add(source, 0);
+        // counters of work done by search
+        int pushes = 1;
+        int stalePops = 0;
+        int relaxations = 0;
+        int settled = 0;
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            if (color[u] == Color.BLACK) {
+                // skip stale path
+                stalePops++;
+                continue;
+            }
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = heads[i];
+                state.visit(v);
+                relaxations++;
+                double c = cost[u] + costs.get(i);
+                if (color[v] != Color.BLACK && cost[v] > c) {
+                    color[v] = Color.GRAY;
+                    cost[v] = c;
+                    last[v] = u;
+                    heap.add(v, c);
+                    pushes++;
+                }
+            }
+            // u fully explored
+            color[u] = Color.BLACK;
+            settled++;
+            if (u == target) {
+                // target settled
+                break;
+            }
+        }
+        state.count(pushes, stalePops, relaxations, settled);
+    }
+
+    /*
+     * Dijkstra's algorithm computes minimum cost path in this snapshot from a
+     * given source vertex to all other vertexes in the connected component of
+     * this snapshot containing the source vertex. The search stops early once
+     * a given number of target vertices are settled, where the target
+     * vertices are marked in a given array, or are the given target vertex
+     * (if not NONE) if the array is null.
+     *
+     * NOTE: Uses (pairing heap or d-ary heap) priority queue of vertex ids
+     *       with decrease key operation to organize search.
+     * NOTE: The time-complexity is O(m + n * log(n)) with a pairing heap
+     *       (amortized), and O(m * log(n)) with a d-ary heap, where m is the
+     *       number of edges and n is the number of vertices.
+     */
+    private void dijkstra2(int source, int target, boolean[] targets,
+                           int count, SearchState state, IndexedHeap heap) {
+        double[] cost = state.cost;
+        Color[] color = state.color;
+        // begin search at source vertex
+        state.visit(source);
+        cost[source] = 0;
+        color[source] = Color.GRAY;
+        heap.add(source, 0);
+        // counters of work done by search
+        int pushes = 1;
+        int relaxations = 0;
+        int settled = 0;
+        while (count > 0 && !heap.isEmpty()) {
+            int u = heap.poll();
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                relaxations++;
+                if (relax(u, heads[i], cost[u] + costs.get(i), state, heap,
+                        null, SearchState.NONE)) {
+                    pushes++;
+                }
+            }
+            // u fully explored
+            color[u] = Color.BLACK;
+            settled++;
+            if (targets == null ? u == target : targets[u]) {
+                // one more target settled
+                count--;
+            }
+        }
+        state.count(pushes, 0, relaxations, settled);
+    }
+
+    /*
+     * Dijkstra's algorithm computes minimum cost paths in this snapshot from
+     * given source vertices, visiting each vertex as it is settled. The search
+     * stops once the minimum cost exceeds a given radius or a given number of
+     * vertices are settled.
+     *
+     * NOTE: Equivalent to a single-source search from a virtual vertex with
+     *       an edge of cost zero to each source vertex.
+     * NOTE: Uses (d-ary heap) priority queue of vertex ids with decrease key
+     *       operation to organize search.
+     */
+    private void nearest(int[] sources, double radius, int limit,
+                         VertexVisitor visitor, SearchState state) {
+        double[] cost = state.cost;
+        Color[] color = state.color;
+        IndexedHeap heap = state.indexedHeap(SearchStrategy.DARY_HEAP);
+        // counters of work done by search
+        int pushes = 0;
+        int relaxations = 0;
+        // begin search at each source vertex
+        for (int source : sources) {
+            checkId(source);
+            state.visit(source);
+            if (color[source] == Color.WHITE) {
+                cost[source] = 0;
+                color[source] = Color.GRAY;
+                heap.add(source, 0);
+                pushes++;
+            }
+        }
+        int count = 0;
+        while (count < limit && !heap.isEmpty() && heap.minKey() <= radius) {
+            int u = heap.poll();
+            // u settled
+            color[u] = Color.BLACK;
+            count++;
+            if (visitor != null) {
+                visitor.visit(u, cost[u]);
+            }
+            if (count == limit) {
+                // enough vertices settled
+                break;
+            }
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                relaxations++;
+                if (relax(u, heads[i], cost[u] + costs.get(i), state, heap,
+                        null, SearchState.NONE)) {
+                    pushes++;
+                }
+            }
+        }
+        state.count(pushes, 0, relaxations, count);
+    }
+
+    /*
+     * A* search computes minimum cost path in this snapshot between two given
+     * vertices. A* search is Dijkstra's algorithm where the key of each vertex
+     * in the heap is the cost of a path to the vertex plus a lower bound on
+     * the cost of a path from the vertex to the target vertex.
+     *
+     * NOTE: Uses (d-ary heap) priority queue of vertex ids with decrease key
+     *       operation to organize search.
+     * NOTE: The heuristic must be consistent, so that a vertex is never
+     *       improved after it is settled.
+     */
+    private double astar(int source, int target, Heuristic heuristic,
+                         SearchState state) {
+        double[] cost = state.cost;
+        Color[] color = state.color;
+        IndexedHeap heap = state.indexedHeap(SearchStrategy.DARY_HEAP);
+        // begin search at source vertex
+        state.visit(source);
+        cost[source] = 0;
+        color[source] = Color.GRAY;
+        heap.add(source, heuristic.lowerBound(source, target));
+        // counters of work done by search
+        int pushes = 1;
+        int relaxations = 0;
+        int settled = 0;
+        double result = DijkstraGraph.INFINITY;
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            settled++;
+            if (u == target) {
+                // target settled
+                result = cost[u];
+                break;
+            }
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                relaxations++;
+                if (relax(u, heads[i], cost[u] + costs.get(i), state, heap,
+                        heuristic, target)) {
+                    pushes++;
+                }
+            }
+            // u fully explored
+            color[u] = Color.BLACK;
+        }
+        state.count(pushes, 0, relaxations, settled);
+        return result;
+    }
+
+    /*
+     * Bidirectional Dijkstra's algorithm computes minimum cost path in this
+     * snapshot between two given vertices by searching forward from the
+     * source vertex and backward from the target vertex, one vertex at a time
+     * from whichever side has the smaller minimum cost.
+     *
+     * NOTE: Uses (d-ary heap) priority queue of vertex ids with decrease key
+     *       operation in each direction to organize search.
+     * NOTE: Stops once the sum of the minimum costs in both heaps is at least
+     *       the cost of the best path found so far, which usually settles
+     *       about half as many vertices as a forward search.
+     */
+    private double dijkstra3(int source, int target, SearchState forward,
+                             SearchState backward) {
+        IndexedHeap heap1 = forward.indexedHeap(SearchStrategy.DARY_HEAP);
+        IndexedHeap heap2 = backward.indexedHeap(SearchStrategy.DARY_HEAP);
+        // begin forward search at source vertex
+        forward.visit(source);
+        forward.cost[source] = 0;
+        forward.color[source] = Color.GRAY;
+        heap1.add(source, 0);
+        // begin backward search at target vertex
+        backward.visit(target);
+        backward.cost[target] = 0;
+        backward.color[target] = Color.GRAY;
+        heap2.add(target, 0);
+        double best = source == target ? 0 : DijkstraGraph.INFINITY;
+        while (!heap1.isEmpty() && !heap2.isEmpty()
+                && heap1.minKey() + heap2.minKey() < best) {
+            if (heap1.minKey() <= heap2.minKey()) {
+                best = scan(heap1.poll(), offsets, heads, costs, forward,
+                        backward, heap1, best);
+            } else {
+                best = scan(heap2.poll(), reverseOffsets, tails, reverseCosts,
+                        backward, forward, heap2, best);
+            }
+        }
+        return best;
+    }
+
+    /*
+     * Settles a given vertex in one direction of a bidirectional search and
+     * returns the cost of the best path found so far.
+     */
+    private static double scan(int u, int[] offsets, int[] heads,
+                               CostColumn costs, SearchState state,
+                               SearchState other, IndexedHeap heap,
+                               double best) {
+        double[] cost = state.cost;
+        Color[] color = state.color;
+        for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+            int v = heads[i];
+            double c = cost[u] + costs.get(i);
+            relax(u, v, c, state, heap, null, SearchState.NONE);
+            // check for cheaper path through v
+            best = Math.min(best, c + other.cost(v));
+        }
+        // u fully explored
+        color[u] = Color.BLACK;
+        return best;
+    }
+
+    /*
+     * Relaxes an edge from a given settled vertex to a given vertex, where a
+     * given cost is the cost of the path through the edge. The key of a vertex
+     * in the heap is the cost of a path to the vertex plus the lower bound of
+     * a given heuristic towards a given target vertex, or just the cost if the
+     * heuristic is null. Returns true if the vertex was added to the heap.
+     *
+     * NOTE: Vertices with infinite lower bound can not reach the target vertex
+     *       and are not explored.
+     */
+    private static boolean relax(int u, int v, double c, SearchState state,
+                                 IndexedHeap heap, Heuristic heuristic,
+                                 int target) {
+        double[] cost = state.cost;
+        Color[] color = state.color;
+        state.visit(v);
+        if (color[v] == Color.WHITE) {
+            double bound = heuristic == null ? 0
+                    : heuristic.lowerBound(v, target);
+            if (bound != DijkstraGraph.INFINITY) {
+                // explore v
+                color[v] = Color.GRAY;
+                cost[v] = c;
+                state.last[v] = u;
+                heap.add(v, c + bound);
+                return true;
+            }
+        } else if (color[v] == Color.GRAY && cost[v] > c) {
+            // found cheaper path to v
+            cost[v] = c;
+            state.last[v] = u;
+            heap.decreaseKey(v, heuristic == null ? c
+                    : c + heuristic.lowerBound(v, target));
+        }
+        return false;
+    }
+
+    // Throw IndexOutOfBoundsException if given id is illegal.
+    private void checkId(int id) {
+        if (id < 0 || id >= names.length) {
+            throw new IndexOutOfBoundsException("id: " + id);
+        }
+    }
+
+    /*
+     * MatrixTask computes a range of rows of a minimum cost matrix, splitting
+     * the range in half until it contains a single source vertex.
+     */
+    private final class MatrixTask extends RecursiveAction {
+        // Version of serialized form of this task.
+        private static final long serialVersionUID = 1L;
+
+        // Ids of beginning vertices.
+        private final int[] sources;
+        // Ids of ending vertices.
+        private final int[] targets;
+        // Mark of each ending vertex, indexed by id.
+        private final boolean[] wanted;
+        // Number of distinct ending vertices.
+        private final int count;
+        // Matrix of minimum costs.
+        private final double[][] matrix;
+        // First row of range (inclusive).
+        private final int lo;
+        // Last row of range (exclusive).
+        private final int hi;
+
+        // Construct task for given range of rows.
+        MatrixTask(int[] sources, int[] targets, boolean[] wanted, int count,
+                   double[][] matrix, int lo, int hi) {
+            this.sources = sources;
+            this.targets = targets;
+            this.wanted = wanted;
+            this.count = count;
+            this.matrix = matrix;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > 1) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new MatrixTask(sources, targets, wanted, count,
+                                matrix, lo, mid),
+                        new MatrixTask(sources, targets, wanted, count,
+                                matrix, mid, hi));
+                return;
+            }
+            for (int i = lo; i < hi; i++) {
+                SearchListener observer = listener;
+                long start = observer == null ? 0 : System.nanoTime();
+                SearchState state = SearchState.acquire(states, names.length);
+                dijkstra2(sources[i], SearchState.NONE, wanted, count, state,
+                        state.indexedHeap(SearchStrategy.DARY_HEAP));
+                report(observer, SearchStrategy.DARY_HEAP, state, start);
+                for (int j = 0; j < targets.length; j++) {
+                    matrix[i][j] = state.cost(targets[j]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.hubbards.algorithms.graph;
+
+/**
+ * DisjointSet is a partition of the integer indices between <code>0</code>
+ * (inclusive) and the size of the partition (exclusive) into disjoint sets,
+ * also known as a union-find data structure. Each set is identified by one of
+ * its indices, called the root of the set. Initially each index is in a set
+ * by itself.
+ * <p>
+ * A partition keeps the number of its sets, so the number of connected
+ * components of a graph can be read while its edges are added.
+ *
+ * @author Spencer Hubbard
+ * @see SequentialDisjointSet
+ * @see ConcurrentDisjointSet
+ */
+public interface DisjointSet {
+    /**
+     * Returns the number of indices in this partition.
+     *
+     * @return the number of indices in this partition.
+     */
+    int size();
+
+    /**
+     * Returns the number of sets in this partition.
+     *
+     * @return the number of sets in this partition.
+     */
+    int componentCount();
+
+    /**
+     * Finds the root of the set which contains a given index.
+     *
+     * @param index the given index.
+     * @return the root of the set which contains the given index.
+     * @throws IndexOutOfBoundsException if the given index is illegal.
+     */
+    int find(int index);
+
+    /**
+     * Checks if two given indices are in the same set.
+     *
+     * @param index1 one given index.
+     * @param index2 the other given index.
+     * @return <code>true</code> if the given indices are in the same set,
+     * otherwise <code>false</code>.
+     * @throws IndexOutOfBoundsException if a given index is illegal.
+     */
+    boolean connected(int index1, int index2);
+
+    /**
+     * Replaces the sets which contain two given indices with their union.
+     *
+     * @param index1 one given index.
+     * @param index2 the other given index.
+     * @return <code>true</code> if the given indices were in distinct sets,
+     * otherwise <code>false</code>.
+     * @throws IndexOutOfBoundsException if a given index is illegal.
+     */
+    boolean union(int index1, int index2);
+
+    /**
+     * Replaces the sets which contain <code>indices1[i]</code> and
+     * <code>indices2[i]</code> with their union, for each position
+     * <code>i</code> of the given arrays.
+     *
+     * @param indices1 the array of one index of each pair.
+     * @param indices2 the array of the other index of each pair.
+     * @return the number of pairs whose indices were in distinct sets.
+     * @throws IllegalArgumentException  if the given arrays have different
+     *                                   lengths.
+     * @throws IndexOutOfBoundsException if a given index is illegal.
+     */
+    int unionAll(int[] indices1, int[] indices2);
+
+    /**
+     * Puts each index in a set by itself.
+     */
+    void clear();
+}
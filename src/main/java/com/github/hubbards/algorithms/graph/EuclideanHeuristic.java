@@ -0,0 +1,50 @@
+package com.github.hubbards.algorithms.graph;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * EuclideanHeuristic is a heuristic for graphs with vertices in the plane. The
+ * minimum cost of a path between two vertices is estimated by the straight
+ * line distance between them multiplied by a given factor. The heuristic is
+ * consistent if the cost of each edge is at least the factor times the
+ * distance between its end-points, e.g., if the cost of an edge is its travel
+ * time and the factor is the inverse of the maximum speed.
+ *
+ * @author Spencer Hubbard
+ */
+public final class EuclideanHeuristic implements Heuristic {
+    // X coordinate of each vertex indexed by id.
+    private final double[] x;
+    // Y coordinate of each vertex indexed by id.
+    private final double[] y;
+    // Minimum cost per unit of distance.
+    private final double factor;
+
+    /**
+     * Construct heuristic with given coordinates and factor.
+     *
+     * @param x      the x coordinate of each vertex indexed by id.
+     * @param y      the y coordinate of each vertex indexed by id.
+     * @param factor the minimum cost per unit of distance.
+     * @throws IllegalArgumentException if the given arrays have different
+     *                                  lengths or the given factor is
+     *                                  negative.
+     */
+    public EuclideanHeuristic(double[] x, double[] y, double factor) {
+        checkNotNull(x);
+        checkNotNull(y);
+        checkArgument(x.length == y.length, "coordinate arrays differ");
+        checkArgument(factor >= 0, "factor must be non-negative");
+        this.x = x.clone();
+        this.y = y.clone();
+        this.factor = factor;
+    }
+
+    @Override
+    public double lowerBound(int vertex, int target) {
+        double dx = x[vertex] - x[target];
+        double dy = y[vertex] - y[target];
+        return factor * Math.sqrt(dx * dx + dy * dy);
+    }
+}
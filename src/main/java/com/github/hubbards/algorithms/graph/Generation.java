@@ -0,0 +1,58 @@
+package com.github.hubbards.algorithms.graph;
+
+/**
+ * Generation is a counter used to reset the bookkeeping fields of a graph
+ * algorithm in constant time. Each vertex (or edge) is stamped with the
+ * generation in which its bookkeeping fields were last set, and fields with
+ * an older stamp are treated as if they had their default values. Advancing
+ * the generation therefore resets every field at once, so a traversal only
+ * pays for the vertices and edges it touches.
+ *
+ * @author Spencer Hubbard
+ */
+final class Generation {
+    /**
+     * Stamp which is never a current generation. Every stamp should initially
+     * be equal to this value.
+     */
+    static final int NONE = 0;
+
+    // Current generation.
+    private int value;
+
+    /**
+     * Construct generation counter.
+     */
+    Generation() {
+        value = NONE;
+    }
+
+    /**
+     * Returns the current generation.
+     *
+     * @return the current generation.
+     */
+    int value() {
+        return value;
+    }
+
+    /**
+     * Advances to the next generation, which invalidates every stamp.
+     * <p>
+     * NOTE: If the counter wraps around, then old stamps could collide with
+     *       new generations, so the caller must set every stamp to
+     *       {@link #NONE}. This happens once every 2<sup>31</sup> - 1
+     *       generations.
+     *
+     * @return <code>true</code> if the counter wrapped around, otherwise
+     * <code>false</code>.
+     */
+    boolean advance() {
+        if (value == Integer.MAX_VALUE) {
+            value = NONE + 1;
+            return true;
+        }
+        value++;
+        return false;
+    }
+}
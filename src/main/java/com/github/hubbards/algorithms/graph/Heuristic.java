@@ -0,0 +1,28 @@
+package com.github.hubbards.algorithms.graph;
+
+/**
+ * Heuristic estimates the minimum cost of a path between two vertices, which
+ * is used to direct the search for a minimum cost path towards the ending
+ * vertex (A* search). Vertices are identified by id.
+ * <p>
+ * A heuristic must be <em>consistent</em>: for each edge with tail
+ * <code>u</code>, head <code>v</code>, and cost <code>c</code>, and for each
+ * vertex <code>t</code>, <code>lowerBound(u, t) &lt;= c + lowerBound(v, t)</code>
+ * and <code>lowerBound(t, t) == 0</code>. A consistent heuristic never
+ * overestimates the minimum cost of a path.
+ *
+ * @author Spencer Hubbard
+ * @see DijkstraSnapshot#minimumCostPath(int, int, Heuristic)
+ */
+public interface Heuristic {
+    /**
+     * Returns a lower bound on the minimum cost of a path between two vertices
+     * with given ids.
+     *
+     * @param vertex the id of the beginning vertex.
+     * @param target the id of the ending vertex.
+     * @return a lower bound on the minimum cost of a path between the given
+     * vertices.
+     */
+    double lowerBound(int vertex, int target);
+}
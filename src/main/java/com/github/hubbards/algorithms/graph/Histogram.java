@@ -0,0 +1,138 @@
+package com.github.hubbards.algorithms.graph;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Histogram counts non-negative values in buckets of exponentially growing
+ * width: bucket <code>0</code> holds the value zero, and bucket
+ * <code>i &gt; 0</code> holds the values from <code>2<sup>i - 1</sup></code>
+ * (inclusive) to <code>2<sup>i</sup></code> (exclusive). A histogram is safe
+ * for use by multiple concurrent threads and never allocates once created.
+ *
+ * @author Spencer Hubbard
+ * @see SearchHistograms
+ */
+public final class Histogram {
+    /**
+     * Number of buckets of a histogram.
+     */
+    public static final int BUCKETS = 64;
+
+    // Number of values in each bucket.
+    private final AtomicLongArray counts;
+    // Number of values.
+    private final AtomicLong count;
+    // Sum of values.
+    private final AtomicLong sum;
+    // Maximum value.
+    private final AtomicLong max;
+
+    /**
+     * Construct empty histogram.
+     */
+    public Histogram() {
+        counts = new AtomicLongArray(BUCKETS);
+        count = new AtomicLong();
+        sum = new AtomicLong();
+        max = new AtomicLong();
+    }
+
+    /**
+     * Adds a given value to this histogram.
+     *
+     * @param value the given value.
+     * @throws IllegalArgumentException if the given value is negative.
+     */
+    public void record(long value) {
+        checkArgument(value >= 0, "negative value");
+        counts.incrementAndGet(bucket(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        long m = max.get();
+        while (value > m && !max.compareAndSet(m, value)) {
+            m = max.get();
+        }
+    }
+
+    /**
+     * Returns the number of values in this histogram.
+     *
+     * @return the number of values in this histogram.
+     */
+    public long count() {
+        return count.get();
+    }
+
+    /**
+     * Returns the sum of the values in this histogram.
+     *
+     * @return the sum of the values in this histogram.
+     */
+    public long sum() {
+        return sum.get();
+    }
+
+    /**
+     * Returns the maximum value in this histogram.
+     *
+     * @return the maximum value in this histogram, or <code>0</code> if it is
+     * empty.
+     */
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * Returns the mean of the values in this histogram.
+     *
+     * @return the mean of the values in this histogram, or <code>0</code> if
+     * it is empty.
+     */
+    public double mean() {
+        long n = count.get();
+        return n == 0 ? 0 : (double) sum.get() / n;
+    }
+
+    /**
+     * Returns the number of values in a bucket with a given index.
+     *
+     * @param i the index of the given bucket.
+     * @return the number of values in the given bucket.
+     * @throws IndexOutOfBoundsException if the given index is illegal.
+     */
+    public long bucketCount(int i) {
+        return counts.get(i);
+    }
+
+    /**
+     * Returns an upper bound on a given quantile of the values in this
+     * histogram, i.e., the greatest value which the bucket containing the
+     * quantile can hold (<code>2<sup>i</sup> - 1</code> for bucket
+     * <code>i</code>), but at most the maximum value.
+     *
+     * @param q the given quantile, between <code>0</code> and <code>1</code>.
+     * @return an upper bound on the given quantile, or <code>0</code> if this
+     * histogram is empty.
+     * @throws IllegalArgumentException if the given quantile is illegal.
+     */
+    public long quantile(double q) {
+        checkArgument(q >= 0 && q <= 1, "illegal quantile");
+        long rank = (long) Math.ceil(q * count.get());
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank && seen > 0) {
+                return Math.min((1L << i) - 1, max.get());
+            }
+        }
+        return max.get();
+    }
+
+    // Return index of bucket of given value.
+    private static int bucket(long value) {
+        return BUCKETS - Long.numberOfLeadingZeros(value);
+    }
+}
@@ -0,0 +1,93 @@
+package com.github.hubbards.algorithms.graph;
+
+/**
+ * IndexedHeap is a min heap of integer ids, between <code>0</code>
+ * (inclusive) and the capacity of the heap (exclusive), ordered by key. Each
+ * id occurs at most once, so the heap never holds more entries than its
+ * capacity, and the key of an id may be decreased in place.
+ *
+ * @author Spencer Hubbard
+ */
+interface IndexedHeap {
+    /**
+     * Checks if this heap is empty.
+     *
+     * @return <code>true</code> if this heap is empty, otherwise
+     * <code>false</code>.
+     */
+    boolean isEmpty();
+
+    /**
+     * Checks if this heap contains a given id.
+     *
+     * @param id the given id.
+     * @return <code>true</code> if this heap contains the given id, otherwise
+     * <code>false</code>.
+     */
+    boolean contains(int id);
+
+    /**
+     * Adds a given id to this heap with a given key.
+     * <p>
+     * pre : this heap does not contain the given id.
+     *
+     * @param id  the given id.
+     * @param key the key of the given id.
+     */
+    void add(int id, double key);
+
+    /**
+     * Returns the minimum key in this heap.
+     * <p>
+     * pre : this heap is not empty.
+     *
+     * @return the minimum key in this heap.
+     */
+    double minKey();
+
+    /**
+     * Decreases the key of a given id in this heap.
+     * <p>
+     * pre : this heap contains the given id and the given key is not greater
+     * than its current key.
+     *
+     * @param id  the given id.
+     * @param key the new key of the given id.
+     */
+    void decreaseKey(int id, double key);
+
+    /**
+     * Removes an id with minimum key from this heap.
+     * <p>
+     * pre : this heap is not empty.
+     *
+     * @return the removed id.
+     */
+    int poll();
+
+    /**
+     * Removes all ids from this heap.
+     */
+    void clear();
+
+    /**
+     * Creates an empty heap for a given search strategy.
+     *
+     * @param strategy the given search strategy.
+     * @param capacity the capacity of the heap.
+     * @return an empty heap.
+     * @throws IllegalArgumentException if the given strategy does not use an
+     *                                  indexed heap.
+     */
+    static IndexedHeap create(SearchStrategy strategy, int capacity) {
+        switch (strategy) {
+            case PAIRING_HEAP:
+                return new PairingHeap(capacity);
+            case DARY_HEAP:
+                return new DaryHeap(capacity, DaryHeap.DEFAULT_ARITY);
+            default:
+                throw new IllegalArgumentException(
+                        "strategy does not use indexed heap: " + strategy);
+        }
+    }
+}
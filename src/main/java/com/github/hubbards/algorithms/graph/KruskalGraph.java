@@ -1,10 +1,13 @@
 package com.github.hubbards.algorithms.graph;
 
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -14,32 +17,69 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * <p>
  * TODO: document graph algorithms
  * <p>
- * TODO: add method which returns true if graph is connected, false otherwise
- * <p>
  * TODO: implement interface for graph with minimum spanning tree
  *
  * @author Spencer Hubbard
  * @see WeightedGraph
  */
 public class KruskalGraph extends WeightedGraph {
-    // Map name of vertex to vertex object.
-    private Map<String, Vertex> map;
-    // List of edges in this graph.
-    private List<Edge> list;
+    // Default capacity of edge arrays.
+    private static final int DEFAULT_CAPACITY = 16;
+    // Maximum number of edges sorted by Filter-Kruskal without partitioning.
+    static final int FILTER_THRESHOLD = 1 << 12;
+    // Minimum number of edges partitioned by a single task.
+    private static final int THRESHOLD = 1 << 13;
+    // Number of bits of each digit of radix sort of edge costs.
+    private static final int DIGIT = 8;
+    // Number of distinct digits of radix sort of edge costs.
+    private static final int RADIX = 1 << DIGIT;
+
+    // Map name of vertex to index of vertex.
+    private Map<String, Integer> map;
+    // Set of pairs of end-point indices of each edge, smaller index first.
+    private Set<Long> pairs;
+    // Index of one end-point of each edge.
+    private int[] tails;
+    // Index of other end-point of each edge.
+    private int[] heads;
+    // Storage of edge costs in this graph.
+    private final CostStorage storage;
+    // Cost of each edge.
+    private CostColumn costs;
+    // Number of edges in this graph.
+    private int m;
+    // Indices of edges sorted by cost, or null if graph changed since sort.
+    private int[] order;
 
     // Bookkeeping field for number of vertices in this graph.
     private int n;
     // Bookkeeping field for disjoint sets of vertices.
-    private int[] array;
+    private SequentialDisjointSet sets;
 
     /**
-     * Construct graph object.
+     * Construct graph object with double precision edge costs.
      */
     public KruskalGraph() {
-        map = new HashMap<String, Vertex>();
+        this(CostStorage.DOUBLE);
+    }
+
+    /**
+     * Construct graph object with given storage of edge costs. Edge costs are
+     * rounded to the precision of the given storage as they are added.
+     *
+     * @param storage the storage of edge costs.
+     */
+    public KruskalGraph(CostStorage storage) {
+        this.storage = checkNotNull(storage);
+        map = new HashMap<String, Integer>();
+        pairs = new HashSet<Long>();
+        tails = new int[DEFAULT_CAPACITY];
+        heads = new int[DEFAULT_CAPACITY];
+        costs = CostColumn.create(storage, DEFAULT_CAPACITY);
+        m = 0;
+        order = null;
         n = 0;
-        array = null;
-        list = new LinkedList<Edge>();
+        sets = new SequentialDisjointSet(0);
     }
 
     @Override
@@ -52,15 +92,7 @@ public class KruskalGraph extends WeightedGraph {
     public boolean containsEdge(String name1, String name2) {
         if (containsVertex(name1) && containsVertex(name2)) {
             // graph contains end-points
-            Vertex u = map.get(name1);
-            Vertex v = map.get(name2);
-            for (Edge e : list) {
-                if (u.index == e.tail.index && v.index == e.head.index
-                        || u.index == e.head.index && v.index == e.tail.index) {
-                    // found edge
-                    return true;
-                }
-            }
+            return pairs.contains(pair(map.get(name1), map.get(name2)));
         }
         // graph does not contain edge
         return false;
@@ -72,10 +104,8 @@ public class KruskalGraph extends WeightedGraph {
         if (containsVertex(name)) {
             throw new GraphException("vertex already exists");
         }
-        // create vertex object
-        Vertex v = new Vertex(name, n);
-        // map name to vertex object
-        map.put(name, v);
+        // map name to index of vertex
+        map.put(name, n);
         // increment number of vertices
         n++;
     }
@@ -86,8 +116,10 @@ public class KruskalGraph extends WeightedGraph {
      * @param name1 the name of one end-point.
      * @param name2 the name of the other end-point.
      * @param cost  the cost of the given edge.
-     * @throws GraphException if end-points don't exist, edge is not simple, or
-     *                        cost is non-positive.
+     * @throws GraphException if end-points don't exist, edge is not simple,
+     *                        cost is non-positive once rounded to the storage
+     *                        of this graph, or cost is too large for the
+     *                        storage.
      */
     @Override
     public void addWeightedEdge(String name1, String name2, double cost) {
@@ -101,14 +133,25 @@ public class KruskalGraph extends WeightedGraph {
         if (name1.equals(name2)) {
             throw new GraphException("loop");
         }
+        cost = storage.round(cost);
         if (cost <= 0) {
             throw new GraphException("non-positive edge cost");
         }
         // add edge to graph
-        Vertex u = map.get(name1);
-        Vertex v = map.get(name2);
-        Edge e = new Edge(u, v, cost);
-        list.add(e);
+        if (m == tails.length) {
+            tails = Arrays.copyOf(tails, 2 * m);
+            heads = Arrays.copyOf(heads, 2 * m);
+            costs = costs.copyOf(2 * m);
+        }
+        int u = map.get(name1);
+        int v = map.get(name2);
+        tails[m] = u;
+        heads[m] = v;
+        costs.set(m, cost);
+        m++;
+        pairs.add(pair(u, v));
+        // discard sorted order of edges
+        order = null;
     }
 
     /**
@@ -122,152 +165,370 @@ public class KruskalGraph extends WeightedGraph {
         return kruskal();
     }
 
+    /**
+     * Finds a minimum spanning forest of this graph using Kruskal's
+     * algorithm, which is a minimum spanning tree of each connected
+     * component. The graph is connected if the forest has at most one
+     * component.
+     *
+     * @return a minimum spanning forest.
+     */
+    public SpanningForest minimumSpanningForest() {
+        return forest();
+    }
+
+    /**
+     * Checks if this graph is connected. An empty graph is connected.
+     *
+     * @return <code>true</code> if this graph is connected, otherwise
+     * <code>false</code>.
+     */
+    public boolean isConnected() {
+        return minimumSpanningForest().isConnected();
+    }
+
+    /**
+     * Finds the cost of a minimum spanning tree of this graph using the
+     * Filter-Kruskal algorithm in the common fork/join pool. Instead of
+     * sorting every edge, the edges are partitioned around a pivot cost, and
+     * edges whose end-points are already connected are filtered out before
+     * the heavier partition is processed. This is faster than
+     * {@link #minimumSpanningTreeCost()} for large sparse graphs, where most
+     * edges never enter the tree.
+     *
+     * @return cost of a minimum spanning tree.
+     * @throws GraphException if this graph is not connected.
+     */
+    public double filteredMinimumSpanningTreeCost() {
+        return filteredMinimumSpanningTreeCost(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Finds the cost of a minimum spanning tree of this graph using the
+     * Filter-Kruskal algorithm, partitioning and filtering edges in a given
+     * fork/join pool.
+     *
+     * @param pool the fork/join pool which partitions and filters edges.
+     * @return cost of a minimum spanning tree.
+     * @throws GraphException if this graph is not connected.
+     * @see #filteredMinimumSpanningTreeCost()
+     */
+    public double filteredMinimumSpanningTreeCost(ForkJoinPool pool) {
+        checkNotNull(pool);
+        return filterKruskal(pool);
+    }
+
     /*
      * Finds the minimum spanning tree of this graph using Kruskal's algorithm.
      *
-     * NOTE: Uses disjoint sets data structure.
+     * NOTE: Uses disjoint sets data structure, which is kept between
+     *       searches.
+     * NOTE: Stops once n - 1 edges are in the tree, since every remaining
+     *       edge would form a cycle.
      *
      * TODO: document running time
      */
     private double kruskal() {
-        // TODO: check if graph is connected
         // reset bookkeeping fields to default values
         reset();
-        double cost = 0;
-        // sort edges
-        Collections.sort(list);
-        // iterate over sorted edges
-        for (Edge e : list) {
-            int i = find(e.tail.index);
-            int j = find(e.head.index);
-            if (i != j) {
-                // e does not form a cycle with black edges
-                union(i, j);
-                e.color = Color.BLACK;
-                cost += e.cost;
+        double cost = scan(sort(), m, sets);
+        checkConnected(sets);
+        return cost;
+    }
+
+    /*
+     * Finds a minimum spanning forest of this graph using Kruskal's
+     * algorithm.
+     *
+     * NOTE: Like kruskal, but records each tree edge. The number of
+     *       components is the number of disjoint sets left after the scan.
+     */
+    private SpanningForest forest() {
+        // reset bookkeeping fields to default values
+        reset();
+        int[] sorted = sort();
+        String[] names = new String[n];
+        for (Map.Entry<String, Integer> entry : map.entrySet()) {
+            names[entry.getValue()] = entry.getKey();
+        }
+        int[] treeTails = new int[n];
+        int[] treeHeads = new int[n];
+        double[] treeCosts = new double[n];
+        int size = 0;
+        for (int k = 0; k < m && sets.componentCount() > 1; k++) {
+            int e = sorted[k];
+            if (sets.union(tails[e], heads[e])) {
+                // e does not form a cycle with tree edges
+                treeTails[size] = tails[e];
+                treeHeads[size] = heads[e];
+                treeCosts[size] = costs.get(e);
+                size++;
             }
         }
-        return cost;
+        return new SpanningForest(names, treeTails, treeHeads, treeCosts,
+                size);
     }
 
     /*
-     * Reset bookkeeping fields to default values for each vertex and edge in
-     * graph.
+     * Finds the minimum spanning tree of this graph using the Filter-Kruskal
+     * algorithm.
+     *
+     * NOTE: Partitions edges around the median cost of three random edges
+     *       like quicksort, finds the tree edges among the light edges, then
+     *       drops heavy edges whose end-points are connected before
+     *       partitioning the remaining heavy edges. Small partitions are
+     *       sorted and scanned like Kruskal's algorithm.
+     * NOTE: Partitions and filters run in parallel, so the disjoint sets of
+     *       vertices are concurrent.
+     * NOTE: The expected time-complexity is O(m + n * log(n) * log(m / n))
+     *       for random edge costs, where m is the number of edges and n is
+     *       the number of vertices.
      */
-    private void reset() {
-        // reset array for disjoint sets of vertices
-        array = new int[n];
-        for (int i = 0; i < n; i++) {
-            array[i] = -1;
+    private double filterKruskal(ForkJoinPool pool) {
+        DisjointSet sets = new ConcurrentDisjointSet(n);
+        int[] ids = new int[m];
+        for (int e = 0; e < m; e++) {
+            ids[e] = e;
         }
-        // reset bookkeeping field to default value for each edge in graph
-        for (Edge e : list) {
-            e.reset();
+        double cost = filterKruskal(pool, ids, m, sets);
+        checkConnected(sets);
+        return cost;
+    }
+
+    /*
+     * Adds tree edges among given edges to given disjoint sets and returns
+     * their total cost.
+     */
+    private double filterKruskal(ForkJoinPool pool, int[] ids, int size,
+                                 DisjointSet sets) {
+        double cost = 0;
+        while (size > 0 && sets.componentCount() > 1) {
+            if (size <= FILTER_THRESHOLD) {
+                return cost + scan(sort(costs, ids, size), size, sets);
+            }
+            double pivot = pivot(ids, size);
+            Edges light = pool.invoke(new SplitTask(sets, ids, 0, size,
+                    pivot, true));
+            if (light.size == size) {
+                // pivot is maximum cost, so partition is not smaller
+                return cost + scan(sort(costs, ids, size), size, sets);
+            }
+            cost += filterKruskal(pool, light.ids, light.size, sets);
+            // drop heavy edges which form a cycle with tree edges
+            Edges heavy = pool.invoke(new SplitTask(sets, ids, 0, size,
+                    pivot, false));
+            ids = heavy.ids;
+            size = heavy.size;
         }
+        return cost;
+    }
+
+    // Return median cost of three random edges among given edges.
+    private double pivot(int[] ids, int size) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double a = costs.get(ids[random.nextInt(size)]);
+        double b = costs.get(ids[random.nextInt(size)]);
+        double c = costs.get(ids[random.nextInt(size)]);
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
     }
 
     /*
-     * pre : root1 and root2 are legal and distinct root indices
-     * post: replaces given sets with their union.
+     * Adds each of given edges sorted by cost which does not form a cycle
+     * with tree edges to given disjoint sets, until one set is left, and
+     * returns their total cost.
      *
-     * NOTE: union-by-rank means make tree with smaller rank subtee of tree
-     *       with larger rank
-     * NOTE: union-by-rank becomes union-by-height without path compression
+     * NOTE: Stops once n - 1 edges are in the tree, since every remaining
+     *       edge would form a cycle.
      */
-    private void union(int root1, int root2) {
-        // check preconditions
-        checkIndex(root1);
-        checkIndex(root2);
-        if (root1 == root2 || array[root1] >= 0 || array[root2] >= 0) {
-            throw new IllegalArgumentException();
+    private double scan(int[] sorted, int size, DisjointSet sets) {
+        double cost = 0;
+        for (int k = 0; k < size && sets.componentCount() > 1; k++) {
+            int e = sorted[k];
+            if (sets.union(tails[e], heads[e])) {
+                // e does not form a cycle with tree edges
+                cost += costs.get(e);
+            }
         }
-        // form union
-        if (array[root2] < array[root1]) {
-            // rank of tree with root2 is greater than rank of tree with root1
-            array[root1] = root2;
-        } else {
-            // rank of tree with root1 is greater than or equal to rank of tree
-            // with root2
-            if (array[root1] == array[root2]) {
-                // rank of tree with root1 is equal to rank of tree with root2
-                array[root1]--;
+        return cost;
+    }
+
+    /*
+     * Returns the indices of the edges of this graph sorted by cost.
+     *
+     * NOTE: Order is kept until graph is modified.
+     */
+    private int[] sort() {
+        if (order == null) {
+            int[] ids = new int[m];
+            for (int e = 0; e < m; e++) {
+                ids[e] = e;
             }
-            array[root2] = root1;
+            order = sort(costs, ids, m);
         }
+        return order;
     }
 
     /*
-     * pre : index is legal
-     * post: return root index of given set
+     * Returns given edge indices sorted by given costs of all edges, where
+     * edges of equal cost keep their given order.
      *
-     * NOTE: path compression means make root parent of each node on path
+     * NOTE: Sorts once, by a least significant digit radix sort of the bits
+     *       of each cost, which order non-negative costs like the costs
+     *       themselves, with the edge indices moved in a parallel column.
+     *       Passes where all edges share a digit are skipped.
      */
-    private int find(int index) {
-        checkIndex(index);
-        // find root
-        int root = index;
-        while (array[root] >= 0) {
-            root = array[root];
+    static int[] sort(CostColumn costs, int[] ids, int size) {
+        long[] keys = new long[size];
+        int[] result = Arrays.copyOf(ids, size);
+        for (int i = 0; i < size; i++) {
+            keys[i] = Double.doubleToLongBits(costs.get(result[i]));
         }
-        // path compression
-        while (index != root) {
-            // make root parent of next node on path
-            int temp = array[index];
-            array[index] = root;
-            index = temp;
+        long[] nextKeys = new long[size];
+        int[] next = new int[size];
+        int[] counts = new int[RADIX];
+        for (int shift = 0; shift < Long.SIZE && size > 0; shift += DIGIT) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < size; i++) {
+                counts[(int) (keys[i] >>> shift) & (RADIX - 1)]++;
+            }
+            if (counts[(int) (keys[0] >>> shift) & (RADIX - 1)] == size) {
+                // all edges share digit
+                continue;
+            }
+            // convert counts to start positions of digits
+            int start = 0;
+            for (int d = 0; d < RADIX; d++) {
+                int count = counts[d];
+                counts[d] = start;
+                start += count;
+            }
+            for (int i = 0; i < size; i++) {
+                int j = counts[(int) (keys[i] >>> shift) & (RADIX - 1)]++;
+                nextKeys[j] = keys[i];
+                next[j] = result[i];
+            }
+            long[] swapKeys = keys;
+            keys = nextKeys;
+            nextKeys = swapKeys;
+            int[] swap = result;
+            result = next;
+            next = swap;
         }
-        return root;
+        return result;
     }
 
-    // Throw IndexOutOfBoundsException if given index is illegal.
-    private void checkIndex(int index) {
-        if (index < 0 || index >= array.length) {
-            throw new IndexOutOfBoundsException("index: " + index);
+    /*
+     * Reset bookkeeping fields to default values for each vertex in graph.
+     *
+     * NOTE: Disjoint sets are reset lazily when visited, unless a vertex was
+     *       added since the previous search.
+     */
+    private void reset() {
+        if (sets.size() != n) {
+            sets = new SequentialDisjointSet(n);
+        } else {
+            sets.clear();
         }
     }
 
-    // Vertex represents a vertex of a graph.
-    private static class Vertex {
-        // Name of this vertex.
-        public final String name;
-        // Index of this vertex.
-        public final int index;
-
-        // Construct vertex with given name.
-        public Vertex(String name, int index) {
-            this.name = name;
-            this.index = index;
+    // Throw GraphException if given disjoint sets of vertices are not one set.
+    private static void checkConnected(DisjointSet sets) {
+        if (sets.componentCount() > 1) {
+            throw new GraphException("graph is not connected");
         }
     }
 
-    // Edge represents a weighted edge of a graph.
-    private static class Edge implements Comparable<Edge> {
-        // Tail of this edge.
-        public final Vertex tail;
-        // Head of this edge.
-        public final Vertex head;
-        // Cost of this edge.
-        public final double cost;
-
-        // Bookkeeping field for color of edge.
-        public Color color;
-
-        // Construct edge with given head and cost.
-        public Edge(Vertex tail, Vertex head, double cost) {
-            this.tail = tail;
-            this.head = head;
-            this.cost = cost;
-            reset();
+    // Return pair of given end-point indices, smaller index first.
+    private static long pair(int u, int v) {
+        return u < v ? ((long) u << 32) | v : ((long) v << 32) | u;
+    }
+
+    /*
+     * SplitTask finds the light or heavy edges in a range of a list of edges
+     * relative to a pivot cost, splitting the range in half until it is
+     * small. Heavy edges whose end-points are connected are dropped.
+     */
+    private final class SplitTask extends RecursiveTask<Edges> {
+        // Version of serialized form of this task.
+        private static final long serialVersionUID = 1L;
+
+        // Disjoint sets of vertices.
+        private final DisjointSet sets;
+        // List of edges.
+        private final int[] ids;
+        // First position of range (inclusive).
+        private final int lo;
+        // Last position of range (exclusive).
+        private final int hi;
+        // Pivot cost.
+        private final double pivot;
+        // Find light edges if true, otherwise heavy edges.
+        private final boolean light;
+
+        // Construct task for given range of list.
+        SplitTask(DisjointSet sets, int[] ids, int lo, int hi, double pivot,
+                  boolean light) {
+            this.sets = sets;
+            this.ids = ids;
+            this.lo = lo;
+            this.hi = hi;
+            this.pivot = pivot;
+            this.light = light;
         }
 
-        // Set bookkeeping field to default value for this edge.
-        public void reset() {
-            color = Color.WHITE;
+        @Override
+        protected Edges compute() {
+            if (hi - lo > THRESHOLD) {
+                int mid = (lo + hi) >>> 1;
+                SplitTask left = new SplitTask(sets, ids, lo, mid, pivot,
+                        light);
+                left.fork();
+                Edges right = new SplitTask(sets, ids, mid, hi, pivot,
+                        light).compute();
+                Edges result = left.join();
+                result.addAll(right);
+                return result;
+            }
+            Edges result = new Edges();
+            for (int k = lo; k < hi; k++) {
+                int e = ids[k];
+                if (light) {
+                    if (costs.get(e) <= pivot) {
+                        result.add(e);
+                    }
+                } else if (costs.get(e) > pivot
+                        && !sets.connected(tails[e], heads[e])) {
+                    result.add(e);
+                }
+            }
+            return result;
         }
+    }
 
-        // Compare cost of this edge with cost of given edge.
-        public int compareTo(Edge other) {
-            return Double.compare(cost, other.cost);
+    // Edges is a growable list of edge indices.
+    private static final class Edges {
+        // Index of each edge in this list.
+        int[] ids = new int[4];
+        // Number of edges in this list.
+        int size = 0;
+
+        // Add given edge to this list.
+        void add(int e) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, 2 * size);
+            }
+            ids[size] = e;
+            size++;
+        }
+
+        // Add each edge in given list to this list.
+        void addAll(Edges other) {
+            if (size + other.size > ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(size + other.size,
+                        2 * ids.length));
+            }
+            System.arraycopy(other.ids, 0, ids, size, other.size);
+            size += other.size;
         }
     }
 }
@@ -0,0 +1,228 @@
+package com.github.hubbards.algorithms.graph;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Landmarks is a heuristic for A* search, landmarks, and the triangle
+ * inequality (ALT). The minimum cost of a path from and to each of a few
+ * landmark vertices is precomputed, and the minimum cost of a path between
+ * two vertices <code>v</code> and <code>t</code> is bounded below using the
+ * triangle inequality: for each landmark <code>l</code>,
+ * <code>d(l, t) - d(l, v) &lt;= d(v, t)</code> and
+ * <code>d(v, l) - d(t, l) &lt;= d(v, t)</code>.
+ * <p>
+ * The tables of costs are stored in primitive arrays, landmark by landmark,
+ * and may be written to a stream and read back to avoid recomputing them.
+ *
+ * @author Spencer Hubbard
+ */
+public final class Landmarks implements Heuristic {
+    // Marker at start of stream of landmarks.
+    private static final int MAGIC = 0x414c5431;
+
+    // Number of vertices of snapshot.
+    private final int n;
+    // Number of edges of snapshot.
+    private final int m;
+    // Id of each landmark.
+    private final int[] landmarks;
+    // Minimum cost of path from landmark i to vertex v at index i * n + v.
+    private final double[] from;
+    // Minimum cost of path from vertex v to landmark i at index i * n + v.
+    private final double[] to;
+
+    // Construct landmarks with given tables.
+    private Landmarks(int n, int m, int[] landmarks, double[] from,
+                      double[] to) {
+        this.n = n;
+        this.m = m;
+        this.landmarks = landmarks;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Computes the tables for given landmarks in a given snapshot.
+     * <p>
+     * NOTE: Runs two single source searches for each landmark.
+     *
+     * @param snapshot the given snapshot.
+     * @param ids      the ids of the given landmarks.
+     * @return the landmarks.
+     * @throws IllegalArgumentException if no landmarks are given.
+     * @throws IndexOutOfBoundsException if a given id is illegal.
+     */
+    public static Landmarks of(DijkstraSnapshot snapshot, int... ids) {
+        checkNotNull(snapshot);
+        checkArgument(ids.length > 0, "no landmarks");
+        int n = snapshot.vertexCount();
+        double[] from = new double[ids.length * n];
+        double[] to = new double[ids.length * n];
+        for (int i = 0; i < ids.length; i++) {
+            System.arraycopy(snapshot.minimumCosts(ids[i]), 0, from, i * n, n);
+            System.arraycopy(snapshot.reverse().minimumCosts(ids[i]), 0, to,
+                    i * n, n);
+        }
+        return new Landmarks(n, snapshot.edgeCount(), ids.clone(), from, to);
+    }
+
+    /**
+     * Selects a given number of landmarks in a given snapshot and computes
+     * their tables. Landmarks are selected greedily: each landmark is a vertex
+     * farthest from the landmarks selected before it (or from the first
+     * vertex, for the first landmark).
+     *
+     * @param snapshot the given snapshot.
+     * @param count    the number of landmarks.
+     * @return the landmarks.
+     * @throws IllegalArgumentException if the given number of landmarks is not
+     *                                  positive or is greater than the number
+     *                                  of vertices.
+     */
+    public static Landmarks select(DijkstraSnapshot snapshot, int count) {
+        checkNotNull(snapshot);
+        int n = snapshot.vertexCount();
+        checkArgument(count > 0 && count <= n, "illegal number of landmarks");
+        int[] ids = new int[count];
+        // minimum cost of path from selected landmarks to each vertex
+        double[] nearest = snapshot.minimumCosts(0);
+        for (int i = 0; i < count; i++) {
+            // select farthest vertex which is not a landmark
+            int farthest = -1;
+            for (int v = 0; v < n; v++) {
+                if (!contains(ids, i, v) && (farthest < 0
+                        || nearest[v] > nearest[farthest])) {
+                    farthest = v;
+                }
+            }
+            ids[i] = farthest;
+            double[] costs = snapshot.minimumCosts(farthest);
+            for (int v = 0; v < n; v++) {
+                nearest[v] = i == 0 ? costs[v] : Math.min(nearest[v], costs[v]);
+            }
+        }
+        return of(snapshot, ids);
+    }
+
+    /**
+     * Reads landmarks for a given snapshot from a given stream. The stream is
+     * not closed.
+     *
+     * @param in       the given stream.
+     * @param snapshot the given snapshot.
+     * @return the landmarks.
+     * @throws IOException    if an I/O error occurs or the stream does not
+     *                        contain landmarks.
+     * @throws GraphException if the landmarks were computed for a snapshot
+     *                        with a different number of vertices or edges.
+     */
+    public static Landmarks read(InputStream in, DijkstraSnapshot snapshot)
+            throws IOException {
+        DataInputStream data = new DataInputStream(checkNotNull(in));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("stream does not contain landmarks");
+        }
+        int n = data.readInt();
+        int m = data.readInt();
+        if (n != snapshot.vertexCount() || m != snapshot.edgeCount()) {
+            throw new GraphException("landmarks do not match snapshot");
+        }
+        int[] landmarks = new int[data.readInt()];
+        for (int i = 0; i < landmarks.length; i++) {
+            landmarks[i] = data.readInt();
+        }
+        double[] from = new double[landmarks.length * n];
+        for (int i = 0; i < from.length; i++) {
+            from[i] = data.readDouble();
+        }
+        double[] to = new double[landmarks.length * n];
+        for (int i = 0; i < to.length; i++) {
+            to[i] = data.readDouble();
+        }
+        return new Landmarks(n, m, landmarks, from, to);
+    }
+
+    /**
+     * Writes these landmarks to a given stream. The stream is flushed but not
+     * closed.
+     *
+     * @param out the given stream.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(checkNotNull(out));
+        data.writeInt(MAGIC);
+        data.writeInt(n);
+        data.writeInt(m);
+        data.writeInt(landmarks.length);
+        for (int id : landmarks) {
+            data.writeInt(id);
+        }
+        for (double cost : from) {
+            data.writeDouble(cost);
+        }
+        for (double cost : to) {
+            data.writeDouble(cost);
+        }
+        data.flush();
+    }
+
+    /**
+     * Returns the ids of these landmarks.
+     *
+     * @return the ids of these landmarks.
+     */
+    public int[] ids() {
+        return landmarks.clone();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * NOTE: Returns {@link DijkstraGraph#INFINITY} if a landmark shows that
+     *       there is no path between the given vertices.
+     */
+    @Override
+    public double lowerBound(int vertex, int target) {
+        double result = 0;
+        for (int i = 0; i < landmarks.length; i++) {
+            int offset = i * n;
+            double lv = from[offset + vertex];
+            double lt = from[offset + target];
+            double vl = to[offset + vertex];
+            double tl = to[offset + target];
+            if (lv != DijkstraGraph.INFINITY && lt == DijkstraGraph.INFINITY
+                    || vl == DijkstraGraph.INFINITY
+                    && tl != DijkstraGraph.INFINITY) {
+                // target is not reachable from vertex
+                return DijkstraGraph.INFINITY;
+            }
+            if (lv != DijkstraGraph.INFINITY) {
+                // d(l, t) - d(l, v) <= d(v, t)
+                result = Math.max(result, lt - lv);
+            }
+            if (tl != DijkstraGraph.INFINITY) {
+                // d(v, l) - d(t, l) <= d(v, t)
+                result = Math.max(result, vl - tl);
+            }
+        }
+        return result;
+    }
+
+    // Check if first k entries of given array contain given value.
+    private static boolean contains(int[] array, int k, int value) {
+        for (int i = 0; i < k; i++) {
+            if (array[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,195 @@
+package com.github.hubbards.algorithms.graph;
+
+import java.util.Arrays;
+
+/**
+ * PairingHeap is an indexed pairing heap of integer ids. The nodes of the heap
+ * are stored in primitive arrays indexed by id, where each node links to its
+ * first child, its next sibling, and its previous sibling (or its parent if it
+ * is a first child). This supports the decrease key operation without
+ * allocating objects.
+ * <p>
+ * NOTE: The amortized time-complexity of add is <em>O(1)</em>, and the
+ * amortized time-complexity of decrease key and poll is <em>O(log(n))</em>,
+ * where <em>n</em> is the capacity.
+ *
+ * @author Spencer Hubbard
+ */
+final class PairingHeap implements IndexedHeap {
+    // Null link.
+    private static final int NIL = -1;
+
+    // Key of each id.
+    private final double[] keys;
+    // First child of each id.
+    private final int[] child;
+    // Next sibling of each id.
+    private final int[] next;
+    // Previous sibling (or parent) of each id.
+    private final int[] prev;
+    // Flag for each id in this heap.
+    private final boolean[] member;
+    // Root of this heap.
+    private int root;
+
+    /**
+     * Construct empty heap with given capacity.
+     *
+     * @param capacity the capacity of the heap.
+     */
+    PairingHeap(int capacity) {
+        keys = new double[capacity];
+        child = new int[capacity];
+        next = new int[capacity];
+        prev = new int[capacity];
+        Arrays.fill(child, NIL);
+        Arrays.fill(next, NIL);
+        Arrays.fill(prev, NIL);
+        member = new boolean[capacity];
+        root = NIL;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root == NIL;
+    }
+
+    @Override
+    public boolean contains(int id) {
+        return member[id];
+    }
+
+    @Override
+    public void add(int id, double key) {
+        keys[id] = key;
+        member[id] = true;
+        root = meld(root, id);
+    }
+
+    @Override
+    public double minKey() {
+        return keys[root];
+    }
+
+    @Override
+    public void decreaseKey(int id, double key) {
+        keys[id] = key;
+        if (id != root) {
+            // cut subtree rooted at id from its parent
+            int p = prev[id];
+            if (child[p] == id) {
+                child[p] = next[id];
+            } else {
+                next[p] = next[id];
+            }
+            if (next[id] != NIL) {
+                prev[next[id]] = p;
+            }
+            next[id] = NIL;
+            prev[id] = NIL;
+            root = meld(root, id);
+        }
+    }
+
+    @Override
+    public int poll() {
+        int result = root;
+        member[result] = false;
+        root = combine(child[result]);
+        child[result] = NIL;
+        return result;
+    }
+
+    @Override
+    public void clear() {
+        // visit each node using next links as a work list
+        int w = root;
+        while (w != NIL) {
+            int x = w;
+            w = next[x];
+            int c = child[x];
+            if (c != NIL) {
+                // prepend children of x to work list
+                int last = c;
+                while (next[last] != NIL) {
+                    last = next[last];
+                }
+                next[last] = w;
+                w = c;
+            }
+            member[x] = false;
+            child[x] = NIL;
+            next[x] = NIL;
+            prev[x] = NIL;
+        }
+        root = NIL;
+    }
+
+    /*
+     * pre : a and b are roots (or NIL) with no siblings
+     * post: returns root of tree with larger key made first child of other
+     */
+    private int meld(int a, int b) {
+        if (a == NIL) {
+            return b;
+        }
+        if (b == NIL) {
+            return a;
+        }
+        if (keys[b] < keys[a]) {
+            int temp = a;
+            a = b;
+            b = temp;
+        }
+        // make b first child of a
+        next[b] = child[a];
+        if (child[a] != NIL) {
+            prev[child[a]] = b;
+        }
+        prev[b] = a;
+        child[a] = b;
+        next[a] = NIL;
+        prev[a] = NIL;
+        return a;
+    }
+
+    /*
+     * Combines a given list of siblings into a single tree using the two-pass
+     * method: meld siblings in pairs from left to right, then meld pairs from
+     * right to left.
+     */
+    private int combine(int first) {
+        if (first == NIL) {
+            return NIL;
+        }
+        // first pass, push melded pairs onto stack linked by next
+        int stack = NIL;
+        int a = first;
+        while (a != NIL) {
+            int b = next[a];
+            int rest = b == NIL ? NIL : next[b];
+            next[a] = NIL;
+            prev[a] = NIL;
+            if (b != NIL) {
+                next[b] = NIL;
+                prev[b] = NIL;
+            }
+            int pair = meld(a, b);
+            next[pair] = stack;
+            stack = pair;
+            a = rest;
+        }
+        // second pass, meld pairs from right to left
+        int result = stack;
+        stack = next[result];
+        next[result] = NIL;
+        while (stack != NIL) {
+            int pair = stack;
+            stack = next[pair];
+            next[pair] = NIL;
+            result = meld(result, pair);
+        }
+        prev[result] = NIL;
+        return result;
+    }
+}
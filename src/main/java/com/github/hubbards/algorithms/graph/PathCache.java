@@ -0,0 +1,150 @@
+package com.github.hubbards.algorithms.graph;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * PathCache answers minimum cost path queries against a {@link DijkstraGraph}
+ * and remembers recent results. The minimum cost of a path between a pair of
+ * vertices is cached by pair, and the minimum costs of paths from a vertex to
+ * every vertex are cached by beginning vertex. Each cache is bounded and
+ * evicts the least recently used results first.
+ * <p>
+ * Results are tagged with the {@link DijkstraGraph#version()} of the graph.
+ * When the graph is modified, all cached results are discarded by the next
+ * query. A cache is safe for use by multiple concurrent threads, as long as no
+ * thread modifies the graph.
+ *
+ * @author Spencer Hubbard
+ */
+public final class PathCache {
+    // Graph queried by this cache.
+    private final DijkstraGraph graph;
+    // Minimum cost of path for each pair of vertex ids.
+    private final Cache<Long, Double> pairs;
+    // Minimum costs of paths for each beginning vertex id.
+    private final Cache<Integer, double[]> trees;
+    // Version of graph when cached results were computed.
+    private volatile long version;
+
+    /**
+     * Construct cache for a given graph.
+     *
+     * @param graph    the given graph.
+     * @param maxPairs the maximum number of cached pairs of vertices.
+     * @param maxTrees the maximum number of cached beginning vertices.
+     * @throws IllegalArgumentException if a given maximum is negative.
+     */
+    public PathCache(DijkstraGraph graph, long maxPairs, long maxTrees) {
+        checkArgument(maxPairs >= 0, "maximum number of pairs is negative");
+        checkArgument(maxTrees >= 0, "maximum number of trees is negative");
+        this.graph = checkNotNull(graph);
+        pairs = CacheBuilder.newBuilder()
+                .maximumSize(maxPairs)
+                .recordStats()
+                .build();
+        trees = CacheBuilder.newBuilder()
+                .maximumSize(maxTrees)
+                .recordStats()
+                .build();
+        version = graph.version();
+    }
+
+    /**
+     * Computes the minimum cost of a path in the graph between two given
+     * vertices, unless it is cached.
+     *
+     * @param name1 the name of the beginning vertex.
+     * @param name2 the name of the ending vertex.
+     * @return the minimum cost of a path between the given vertices, or
+     * {@link DijkstraGraph#INFINITY} if there is no such path.
+     * @throws GraphException if the graph does not contain the given
+     *                        vertices.
+     */
+    public double minimumCostPath(String name1, String name2) {
+        validate();
+        int source = graph.indexOf(name1);
+        int target = graph.indexOf(name2);
+        Long key = ((long) source << 32) | (target & 0xffffffffL);
+        Double cost = pairs.getIfPresent(key);
+        if (cost == null) {
+            cost = graph.minimumCostPath(name1, name2);
+            pairs.put(key, cost);
+        }
+        return cost;
+    }
+
+    /**
+     * Computes the minimum cost of a path in the graph from a given vertex to
+     * every vertex in the graph, unless it is cached.
+     *
+     * @param name the name of the beginning vertex.
+     * @return a new array with the minimum cost of a path from the given
+     * vertex to each vertex, indexed by vertex id, or
+     * {@link DijkstraGraph#INFINITY} for vertices which are not reachable
+     * from the given vertex.
+     * @throws GraphException if the graph does not contain the given vertex.
+     */
+    public double[] minimumCosts(String name) {
+        validate();
+        int source = graph.indexOf(name);
+        double[] costs = trees.getIfPresent(source);
+        if (costs == null) {
+            costs = graph.minimumCosts(name);
+            trees.put(source, costs);
+        }
+        return costs.clone();
+    }
+
+    /**
+     * Discards all cached results.
+     */
+    public void invalidate() {
+        pairs.invalidateAll();
+        trees.invalidateAll();
+    }
+
+    /**
+     * Returns the number of queries answered from this cache.
+     *
+     * @return the number of queries answered from this cache.
+     */
+    public long hitCount() {
+        return pairs.stats().hitCount() + trees.stats().hitCount();
+    }
+
+    /**
+     * Returns the number of queries which were not answered from this cache.
+     *
+     * @return the number of queries which were not answered from this cache.
+     */
+    public long missCount() {
+        return pairs.stats().missCount() + trees.stats().missCount();
+    }
+
+    /**
+     * Returns the number of results evicted from this cache because it was
+     * full. Results discarded because the graph was modified are not counted.
+     *
+     * @return the number of results evicted from this cache.
+     */
+    public long evictionCount() {
+        return pairs.stats().evictionCount() + trees.stats().evictionCount();
+    }
+
+    // Discard cached results if graph was modified since they were computed.
+    private void validate() {
+        long current = graph.version();
+        if (current != version) {
+            synchronized (this) {
+                if (current != version) {
+                    invalidate();
+                    version = current;
+                }
+            }
+        }
+    }
+}
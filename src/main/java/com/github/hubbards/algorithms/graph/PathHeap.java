@@ -0,0 +1,97 @@
+package com.github.hubbards.algorithms.graph;
+
+import java.util.Arrays;
+
+/**
+ * PathHeap is a binary min heap of paths, where each path is represented by
+ * its last vertex id and its cost. Paths are stored in parallel primitive
+ * arrays, so adding and removing paths does not allocate objects once the
+ * heap has grown to its working size.
+ * <p>
+ * NOTE: There is no decrease key operation. A vertex may occur more than once
+ *       in the heap and stale paths must be skipped by the caller.
+ *
+ * @author Spencer Hubbard
+ */
+final class PathHeap implements PathQueue {
+    // Default capacity of a heap.
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // Last vertex id of each path in this heap.
+    private int[] ids;
+    // Cost of each path in this heap.
+    private double[] costs;
+    // Number of paths in this heap.
+    private int size;
+
+    /**
+     * Construct empty heap.
+     */
+    PathHeap() {
+        ids = new int[DEFAULT_CAPACITY];
+        costs = new double[DEFAULT_CAPACITY];
+        size = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+    }
+
+    @Override
+    public void add(int id, double cost) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, 2 * size);
+            costs = Arrays.copyOf(costs, 2 * size);
+        }
+        // percolate up from bottom of heap
+        int i = size;
+        size++;
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (costs[parent] <= cost) {
+                break;
+            }
+            ids[i] = ids[parent];
+            costs[i] = costs[parent];
+            i = parent;
+        }
+        ids[i] = id;
+        costs[i] = cost;
+    }
+
+    @Override
+    public int poll() {
+        int result = ids[0];
+        size--;
+        if (size > 0) {
+            // percolate last path down from top of heap
+            int id = ids[size];
+            double cost = costs[size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && costs[child + 1] < costs[child]) {
+                    child++;
+                }
+                if (cost <= costs[child]) {
+                    break;
+                }
+                ids[i] = ids[child];
+                costs[i] = costs[child];
+                i = child;
+            }
+            ids[i] = id;
+            costs[i] = cost;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.hubbards.algorithms.graph;
+
+/**
+ * PathQueue is a min priority queue of paths, where each path is represented
+ * by its last vertex id and its cost.
+ * <p>
+ * NOTE: There is no decrease key operation. A vertex may occur more than once
+ *       in the queue and stale paths must be skipped by the caller.
+ *
+ * @author Spencer Hubbard
+ */
+interface PathQueue {
+    /**
+     * Checks if this queue is empty.
+     *
+     * @return <code>true</code> if this queue is empty, otherwise
+     * <code>false</code>.
+     */
+    boolean isEmpty();
+
+    /**
+     * Removes all paths from this queue.
+     */
+    void clear();
+
+    /**
+     * Adds a path to this queue with given last vertex and cost.
+     *
+     * @param id   the id of the last vertex of the given path.
+     * @param cost the cost of the given path.
+     */
+    void add(int id, double cost);
+
+    /**
+     * Removes a minimum cost path from this queue.
+     *
+     * @return the id of the last vertex of the removed path.
+     */
+    int poll();
+}
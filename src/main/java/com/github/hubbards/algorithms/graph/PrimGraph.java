@@ -1,10 +1,12 @@
 package com.github.hubbards.algorithms.graph;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.PriorityQueue;
+import java.util.Set;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -13,27 +15,67 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * costs. The minimum spanning tree is found using Prim's algorithm.
  * <p>
  * TODO: document graph algorithms
- * <p>
- * TODO: add method which returns true if graph is connected, false otherwise
  *
  * @author Spencer Hubbard
  * @see WeightedGraph
  */
 public class PrimGraph extends WeightedGraph {
+    // Minimum fraction of pairs of vertices joined by an edge of dense graph.
+    static final double DENSE_DENSITY = 0.5;
+    // Maximum number of vertices of graph stored in adjacency matrix, which
+    // bounds the matrix by 32 MB.
+    static final int MAX_MATRIX_VERTICES = 1 << 11;
+
     // Map name of vertex to vertex object.
     private Map<String, Vertex> map;
-    // List of edges in this graph.
-    private List<Edge> list;
+    // List of vertices in this graph indexed by id.
+    private List<Vertex> vertices;
+    // Storage of edge costs in this graph.
+    private final CostStorage storage;
+    // Number of edges in this graph.
+    private int m;
+    // Set of pairs of end-point indices of each edge, smaller index first.
+    private Set<Long> pairs;
     // Source vertex of this graph.
     private Vertex s;
+    // Generation of bookkeeping fields for current search.
+    private Generation generation;
+    // Row-major adjacency matrix of edge costs, or null if not built.
+    private double[] matrix;
+    // Heap of paths of search with binary heap, or null if not created.
+    private PathHeap paths;
+    // Indexed heap of search with each strategy, or null if not created.
+    private IndexedHeap pairingHeap;
+    private IndexedHeap daryHeap;
+    // Capacity of indexed heaps.
+    private int capacity;
 
     /**
-     * Construct graph object.
+     * Construct graph object with double precision edge costs.
      */
     public PrimGraph() {
+        this(CostStorage.DOUBLE);
+    }
+
+    /**
+     * Construct graph object with given storage of edge costs. Edge costs are
+     * rounded to the precision of the given storage as they are added.
+     *
+     * @param storage the storage of edge costs.
+     */
+    public PrimGraph(CostStorage storage) {
+        this.storage = checkNotNull(storage);
         map = new HashMap<String, Vertex>();
-        list = new LinkedList<Edge>();
+        vertices = new ArrayList<Vertex>();
+        m = 0;
+        pairs = new HashSet<Long>();
         s = null;
+        generation = new Generation();
+        matrix = null;
+        paths = null;
+        pairingHeap = null;
+        daryHeap = null;
+        capacity = 0;
     }
 
     @Override
@@ -46,13 +88,8 @@ public class PrimGraph extends WeightedGraph {
     public boolean containsEdge(String name1, String name2) {
         if (containsVertex(name1) && containsVertex(name2)) {
             // graph contains end-points
-            for (Edge e : list) {
-                if (name1.equals(e.tail.name) && name2.equals(e.head.name)
-                        || name1.equals(e.head.name) && name2.equals(e.tail.name)) {
-                    // found edge
-                    return true;
-                }
-            }
+            return pairs.contains(pair(map.get(name1).index,
+                    map.get(name2).index));
         }
         // graph does not contain edge
         return false;
@@ -65,11 +102,14 @@ public class PrimGraph extends WeightedGraph {
             throw new GraphException("vertex already exists");
         }
         // create vertex object
-        Vertex v = new Vertex(name);
+        Vertex v = new Vertex(name, vertices.size(), storage);
         // map name to vertex object
         map.put(name, v);
+        vertices.add(v);
         // set source vertex to v
         s = v;
+        // free adjacency matrix, which no longer fits
+        matrix = null;
     }
 
     /**
@@ -78,8 +118,10 @@ public class PrimGraph extends WeightedGraph {
      * @param name1 the name of one end-point.
      * @param name2 the name of the other end-point.
      * @param cost  the cost of the given edge.
-     * @throws GraphException if end-points don't exist, edge is not simple, or
-     *                        cost is non-positive.
+     * @throws GraphException if end-points don't exist, edge is not simple,
+     *                        cost is non-positive once rounded to the storage
+     *                        of this graph, or cost is too large for the
+     *                        storage.
      */
     @Override
     public void addWeightedEdge(String name1, String name2, double cost) {
@@ -93,77 +135,179 @@ public class PrimGraph extends WeightedGraph {
         if (name1.equals(name2)) {
             throw new GraphException("loop");
         }
+        cost = storage.round(cost);
         if (cost <= 0) {
             throw new GraphException("non-positive edge cost");
         }
         // add edge to graph
         Vertex u = map.get(name1);
         Vertex v = map.get(name2);
-        Edge e = new Edge(u, v, cost);
-        list.add(e);
-        u.inc.add(e);
-        v.inc.add(e);
+        pairs.add(pair(u.index, v.index));
+        u.inc.add(v.index, cost);
+        v.inc.add(u.index, cost);
+        m++;
+        // update adjacency matrix in place
+        if (matrix != null) {
+            int n = vertices.size();
+            matrix[u.index * n + v.index] = cost;
+            matrix[v.index * n + u.index] = cost;
+        }
     }
 
     /**
      * Finds the cost of a minimum spanning tree of this graph using Prim's
-     * algorithm.
+     * algorithm. If this graph is dense, i.e., at least half of all pairs of
+     * vertices are joined by an edge, then the edge costs are copied into an
+     * adjacency matrix, which is kept up to date as edges are added and freed
+     * when a vertex is added, and the search scans the matrix instead of
+     * keeping a heap. Graphs with more than 2048 vertices are never stored in
+     * an adjacency matrix.
      *
      * @return cost of a minimum spanning tree.
-     * @throws GraphException if this graph is empty or not connected.
+     * @throws GraphException if this graph is not connected.
      */
     public double minimumSpanningTreeCost() {
+        if (isDense()) {
+            return prim3();
+        }
+        // free adjacency matrix of graph which is no longer dense
+        matrix = null;
         return prim1();
     }
 
+    /**
+     * Finds a minimum spanning forest of this graph using Prim's algorithm,
+     * which is a minimum spanning tree of each connected component. The
+     * graph is connected if the forest has at most one component.
+     *
+     * @return a minimum spanning forest.
+     */
+    public SpanningForest minimumSpanningForest() {
+        return prim4(heap(SearchStrategy.DARY_HEAP));
+    }
+
+    /**
+     * Checks if this graph is connected. An empty graph is connected.
+     *
+     * @return <code>true</code> if this graph is connected, otherwise
+     * <code>false</code>.
+     */
+    public boolean isConnected() {
+        return minimumSpanningForest().isConnected();
+    }
+
+    /**
+     * Finds the cost of a minimum spanning tree of this graph using Prim's
+     * algorithm with a given strategy to organize the search.
+     * {@link SearchStrategy#BINARY_HEAP} keeps a heap of edges, and
+     * {@link SearchStrategy#PAIRING_HEAP} and {@link SearchStrategy#DARY_HEAP}
+     * keep an indexed heap of vertices with decrease key operation, which
+     * never holds more than one entry per vertex.
+     *
+     * @param strategy the strategy used to organize the search.
+     * @return cost of a minimum spanning tree.
+     * @throws GraphException           if this graph is not connected.
+     * @throws IllegalArgumentException if the given strategy does not apply
+     *                                  to Prim's algorithm.
+     */
+    public double minimumSpanningTreeCost(SearchStrategy strategy) {
+        checkNotNull(strategy);
+        if (strategy == SearchStrategy.BINARY_HEAP) {
+            return prim1();
+        }
+        if (strategy != SearchStrategy.PAIRING_HEAP
+                && strategy != SearchStrategy.DARY_HEAP) {
+            throw new IllegalArgumentException(
+                    "strategy does not use indexed heap: " + strategy);
+        }
+        return prim2(heap(strategy));
+    }
+
+    // Return empty indexed heap for given strategy, which grows with graph.
+    private IndexedHeap heap(SearchStrategy strategy) {
+        if (capacity < vertices.size()) {
+            // discard heaps which are too small
+            capacity = Math.max(vertices.size(), 2 * capacity);
+            pairingHeap = null;
+            daryHeap = null;
+        }
+        IndexedHeap heap;
+        if (strategy == SearchStrategy.PAIRING_HEAP) {
+            if (pairingHeap == null) {
+                pairingHeap = IndexedHeap.create(strategy, capacity);
+            }
+            heap = pairingHeap;
+        } else {
+            if (daryHeap == null) {
+                daryHeap = IndexedHeap.create(strategy, capacity);
+            }
+            heap = daryHeap;
+        }
+        heap.clear();
+        return heap;
+    }
+
     /*
      * Finds the minimum spanning tree of this graph using Prim's algorithm.
      *
      * NOTE: Algorithm is similar to Dijkstra's algorithm.
-     * NOTE: Use (binary min heap) priority queue to organize search.
+     * NOTE: Uses (binary min heap) priority queue of vertex ids without
+     *       decrease key operation to organize search, where a vertex is
+     *       added again whenever a cheaper edge between the vertex and the
+     *       tree is found, and stale entries are skipped.
      *
      * TODO: document running time
      */
     private double prim1() {
-        // TODO: check graph is connected
         if (s == null) {
-            throw new GraphException("empty graph");
+            // empty graph has empty tree
+            return 0;
         }
         // initialize bookkeeping fields
         reset();
+        int g = generation.value();
         double cost = 0;
         // use priority queue to organize search
-        PriorityQueue<Edge> heap = new PriorityQueue<Edge>();
-        // begin search at source vertex
-        s.color = Color.BLACK;
-        // explore edges incident to s
-        for (Edge e : s.inc) {
-            // explore e
-            e.color = Color.GRAY;
-            heap.add(e);
+        if (paths == null) {
+            paths = new PathHeap();
         }
+        PathHeap heap = paths;
+        heap.clear();
+        int size = 0;
+        // begin search at source vertex
+        s.visit(g);
+        s.key = 0;
+        s.color = Color.GRAY;
+        heap.add(s.index, 0);
         while (!heap.isEmpty()) {
-            Edge e = heap.poll();
-            // find end-point of e that is not black
-            Vertex u = e.tail;
+            Vertex u = vertices.get(heap.poll());
             if (u.color == Color.BLACK) {
-                u = e.head;
+                // skip stale entry
+                continue;
             }
-            if (u.color == Color.WHITE) {
-                // e is minimum cost edge on cut
-                u.color = Color.BLACK;
-                e.color = Color.BLACK;
-                cost += e.cost;
-                // explore edges incident to u
-                for (Edge f : u.inc) {
-                    if (f.color == Color.WHITE) {
-                        // explore f
-                        f.color = Color.GRAY;
-                        heap.add(f);
-                    }
+            // u is end-point of minimum cost edge on cut
+            u.color = Color.BLACK;
+            cost += u.key;
+            size++;
+            // explore edges incident to u
+            AdjacencyList inc = u.inc;
+            for (int i = 0; i < inc.size(); i++) {
+                Vertex v = vertices.get(inc.head(i));
+                v.visit(g);
+                double c = inc.cost(i);
+                if (v.color == Color.WHITE
+                        || v.color == Color.GRAY && c < v.key) {
+                    // explore v or found cheaper edge between v and tree
+                    v.color = Color.GRAY;
+                    v.key = c;
+                    heap.add(v.index, c);
                 }
             }
         }
+        if (size < vertices.size()) {
+            // some vertex is not reachable from source vertex
+            throw new GraphException("graph is not connected");
+        }
         return cost;
     }
 
@@ -172,28 +316,232 @@ public class PrimGraph extends WeightedGraph {
      * using Prim's algorithm.
      *
      * NOTE: Algorithm is similar to Dijkstra's algorithm.
-     * NOTE: Uses (pairing heap) priority queue with decrease key operation to
-     *       organize search.
+     * NOTE: Uses (pairing heap or d-ary heap) priority queue of vertex ids
+     *       with decrease key operation to organize search, where the key of
+     *       a vertex is the minimum cost of an edge between the vertex and
+     *       the tree, so the heap holds at most n entries.
+     * NOTE: The time-complexity is O(m + n * log(n)) with a pairing heap
+     *       (amortized), and O(m * log(n)) with a d-ary heap, where m is the
+     *       number of edges and n is the number of vertices.
+     */
+    private double prim2(IndexedHeap heap) {
+        if (s == null) {
+            // empty graph has empty tree
+            return 0;
+        }
+        // initialize bookkeeping fields
+        reset();
+        int g = generation.value();
+        double cost = 0;
+        int size = 0;
+        // begin search at source vertex
+        s.visit(g);
+        s.key = 0;
+        s.color = Color.GRAY;
+        heap.add(s.index, 0);
+        while (!heap.isEmpty()) {
+            // u is end-point of minimum cost edge on cut
+            Vertex u = vertices.get(heap.poll());
+            u.color = Color.BLACK;
+            cost += u.key;
+            size++;
+            // explore edges incident to u
+            AdjacencyList inc = u.inc;
+            for (int i = 0; i < inc.size(); i++) {
+                Vertex v = vertices.get(inc.head(i));
+                v.visit(g);
+                double c = inc.cost(i);
+                if (v.color == Color.WHITE) {
+                    // explore v
+                    v.color = Color.GRAY;
+                    v.key = c;
+                    heap.add(v.index, c);
+                } else if (v.color == Color.GRAY && c < v.key) {
+                    // found cheaper edge between v and tree
+                    v.key = c;
+                    heap.decreaseKey(v.index, c);
+                }
+            }
+        }
+        if (size < vertices.size()) {
+            // some vertex is not reachable from source vertex
+            throw new GraphException("graph is not connected");
+        }
+        return cost;
+    }
+
+    /*
+     * Finds the minimum spanning tree of this graph using Prim's algorithm.
+     *
+     * NOTE: Algorithm is similar to Dijkstra's algorithm.
+     * NOTE: Uses (row-major) adjacency matrix and array of minimum costs of
+     *       edges between each vertex and the tree, which is scanned for the
+     *       next vertex instead of keeping a heap.
+     * NOTE: The time-complexity is O(n^2), where n is the number of vertices,
+     *       which beats a heap when the number of edges is close to n^2.
+     */
+    private double prim3() {
+        if (s == null) {
+            // empty graph has empty tree
+            return 0;
+        }
+        double[] matrix = matrix();
+        int n = vertices.size();
+        // minimum cost of edge between each vertex and tree
+        double[] key = new double[n];
+        Arrays.fill(key, DijkstraGraph.INFINITY);
+        // whether each vertex is in tree
+        boolean[] black = new boolean[n];
+        double cost = 0;
+        // begin search at source vertex
+        int u = s.index;
+        key[u] = 0;
+        for (int k = 0; k < n; k++) {
+            // u is end-point of minimum cost edge on cut
+            black[u] = true;
+            cost += key[u];
+            // explore edges incident to u and find next vertex
+            int row = u * n;
+            int next = -1;
+            double min = DijkstraGraph.INFINITY;
+            for (int v = 0; v < n; v++) {
+                if (!black[v]) {
+                    if (matrix[row + v] < key[v]) {
+                        // found cheaper edge between v and tree
+                        key[v] = matrix[row + v];
+                    }
+                    if (key[v] < min) {
+                        min = key[v];
+                        next = v;
+                    }
+                }
+            }
+            if (next == -1 && k < n - 1) {
+                // no edge on cut
+                throw new GraphException("graph is not connected");
+            }
+            u = next;
+        }
+        return cost;
+    }
+
+    /*
+     * Finds a minimum spanning forest of this graph using Prim's algorithm,
+     * which is a minimum spanning tree of each connected component.
      *
-     * TODO: document running time
+     * NOTE: Search is like prim2, but begins a new tree at each vertex which
+     *       is not in a tree, so components are counted in the same pass.
+     * NOTE: The last bookkeeping field of each vertex is the other end-point
+     *       of the minimum cost edge between the vertex and the tree, which
+     *       becomes a tree edge.
+     */
+    private SpanningForest prim4(IndexedHeap heap) {
+        // initialize bookkeeping fields
+        reset();
+        int g = generation.value();
+        int n = vertices.size();
+        String[] names = new String[n];
+        int[] tails = new int[n];
+        int[] heads = new int[n];
+        double[] costs = new double[n];
+        int size = 0;
+        for (Vertex r : vertices) {
+            names[r.index] = r.name;
+            r.visit(g);
+            if (r.color != Color.WHITE) {
+                // r is in a tree
+                continue;
+            }
+            // begin new tree at r
+            r.color = Color.GRAY;
+            heap.add(r.index, 0);
+            while (!heap.isEmpty()) {
+                // u is end-point of minimum cost edge on cut
+                Vertex u = vertices.get(heap.poll());
+                u.color = Color.BLACK;
+                if (u.last != SearchState.NONE) {
+                    tails[size] = u.last;
+                    heads[size] = u.index;
+                    costs[size] = u.key;
+                    size++;
+                }
+                // explore edges incident to u
+                AdjacencyList inc = u.inc;
+                for (int i = 0; i < inc.size(); i++) {
+                    Vertex v = vertices.get(inc.head(i));
+                    v.visit(g);
+                    double c = inc.cost(i);
+                    if (v.color == Color.WHITE) {
+                        // explore v
+                        v.color = Color.GRAY;
+                        v.key = c;
+                        v.last = u.index;
+                        heap.add(v.index, c);
+                    } else if (v.color == Color.GRAY && c < v.key) {
+                        // found cheaper edge between v and tree
+                        v.key = c;
+                        v.last = u.index;
+                        heap.decreaseKey(v.index, c);
+                    }
+                }
+            }
+        }
+        return new SpanningForest(names, tails, heads, costs, size);
+    }
+
+    // Return pair of given end-point indices, smaller index first.
+    private static long pair(int u, int v) {
+        return u < v ? ((long) u << 32) | v : ((long) v << 32) | u;
+    }
+
+    // Return true if adjacency matrix of this graph is built.
+    boolean hasMatrix() {
+        return matrix != null;
+    }
+
+    // Return true if this graph is stored in adjacency matrix for search.
+    private boolean isDense() {
+        long n = vertices.size();
+        return n <= MAX_MATRIX_VERTICES
+                && m >= DENSE_DENSITY * n * (n - 1) / 2;
+    }
+
+    /*
+     * Returns adjacency matrix of this graph, where entry (i, j) is the cost
+     * of the edge between the vertices with index i and j, or
+     * DijkstraGraph.INFINITY if there is no such edge.
+     *
+     * NOTE: Matrix is built on demand, updated when an edge is added, and
+     * freed when a vertex is added.
      */
-    private double prim2() {
-        // TODO: implement
-        throw new RuntimeException("method not implemented");
+    private double[] matrix() {
+        if (matrix == null) {
+            int n = vertices.size();
+            double[] a = new double[n * n];
+            Arrays.fill(a, DijkstraGraph.INFINITY);
+            for (Vertex u : vertices) {
+                // each edge is in incidence list of both end-points
+                AdjacencyList inc = u.inc;
+                for (int i = 0; i < inc.size(); i++) {
+                    a[u.index * n + inc.head(i)] = inc.cost(i);
+                }
+            }
+            matrix = a;
+        }
+        return matrix;
     }
 
     /*
-     * Reset bookkeeping fields to default values for each vertex and edge in
-     * graph.
+     * Reset bookkeeping fields to default values for each vertex in graph.
+     *
+     * NOTE: Advances generation, so vertices are reset lazily when visited.
      */
     private void reset() {
-        // reset bookkeeping field for each vertex
-        for (Vertex v : map.values()) {
-            v.reset();
-        }
-        // reset bookkeeping field for each edge
-        for (Edge e : list) {
-            e.reset();
+        if (generation.advance()) {
+            // clear stamp of each vertex
+            for (Vertex v : map.values()) {
+                v.stamp = Generation.NONE;
+            }
         }
     }
 
@@ -201,53 +549,43 @@ public class PrimGraph extends WeightedGraph {
     private static class Vertex {
         // Name of this vertex.
         public final String name;
-        // Incidence list for this vertex.
-        public List<Edge> inc;
+        // Index of this vertex.
+        public final int index;
+        // Incidence list for this vertex, i.e., the other end-point and cost
+        // of each edge incident to this vertex.
+        public final AdjacencyList inc;
 
         // Bookkeeping field for color of this vertex.
         public Color color;
+        // Bookkeeping field for minimum cost of edge to tree.
+        public double key;
+        // Bookkeeping field for other end-point of minimum cost edge to tree.
+        public int last;
+        // Generation in which bookkeeping fields were set.
+        public int stamp;
 
-        // Construct vertex with given name.
-        public Vertex(String name) {
+        // Construct vertex with given name, index and storage of edge costs.
+        public Vertex(String name, int index, CostStorage storage) {
             this.name = name;
-            inc = new LinkedList<Edge>();
+            this.index = index;
+            inc = new AdjacencyList(storage);
+            stamp = Generation.NONE;
             reset();
         }
 
-        // Set bookkeeping field to default value for this vertex.
-        public void reset() {
-            color = Color.WHITE;
-        }
-    }
-
-    // Edge represents a weighted edge of a graph.
-    private static class Edge implements Comparable<Edge> {
-        // Tail of this edge.
-        public final Vertex tail;
-        // Head of this edge.
-        public final Vertex head;
-        // Cost of this edge.
-        public final double cost;
-
-        // Bookkeeping field for color of edge.
-        public Color color;
-
-        // Construct edge with given head and cost.
-        public Edge(Vertex tail, Vertex head, double cost) {
-            this.tail = tail;
-            this.head = head;
-            this.cost = cost;
-            reset();
+        // Reset bookkeeping fields unless set in given generation.
+        public void visit(int generation) {
+            if (stamp != generation) {
+                stamp = generation;
+                reset();
+            }
         }
 
-        // Set bookkeeping field to default value for this edge.
+        // Set bookkeeping fields to default values for this vertex.
         public void reset() {
             color = Color.WHITE;
-        }
-
-        // Compare cost of this edge with cost of given edge.
-        public int compareTo(Edge other) {
-            return Double.compare(cost, other.cost);
+            key = 0;
+            last = SearchState.NONE;
         }
     }
 }
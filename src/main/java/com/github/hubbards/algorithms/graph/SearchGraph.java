@@ -24,12 +24,15 @@ import static com.google.common.base.Preconditions.checkNotNull;
 public class SearchGraph implements Graph {
     // Map name of vertex to vertex object.
     private Map<String, Vertex> map;
+    // Generation of bookkeeping fields for current search.
+    private Generation generation;
 
     /**
      * Construct graph object.
      */
     public SearchGraph() {
         map = new HashMap<String, Vertex>();
+        generation = new Generation();
     }
 
     @Override
@@ -101,6 +104,8 @@ public class SearchGraph implements Graph {
         Queue<Vertex> queue = new LinkedList<Vertex>();
         // begin search at source vertex
         Vertex s = map.get(name);
+        int g = generation.value();
+        s.visit(g);
         // explore s
         s.color = Color.GRAY;
         queue.add(s);
@@ -108,6 +113,7 @@ public class SearchGraph implements Graph {
             Vertex u = queue.remove();
             // explore all neighbors of u
             for (Vertex v : u.adj) {
+                v.visit(g);
                 if (v.color == Color.WHITE) {
                     // v unexplored
                     v.color = Color.GRAY;
@@ -145,6 +151,8 @@ public class SearchGraph implements Graph {
         Stack<Vertex> stack = new Stack<Vertex>();
         // begin search at source vertex
         Vertex s = map.get(name);
+        int g = generation.value();
+        s.visit(g);
         stack.push(s);
         while (!stack.isEmpty()) {
             Vertex u = stack.pop();
@@ -152,6 +160,7 @@ public class SearchGraph implements Graph {
                 // explore u
                 u.color = Color.GRAY;
                 for (Vertex v : u.adj) {
+                    v.visit(g);
                     if (v.color == Color.WHITE) {
                         // v unexplored
                         v.dist = u.dist + 1;
@@ -188,6 +197,7 @@ public class SearchGraph implements Graph {
         // use recursion to organize search
         // begin search at source vertex
         Vertex s = map.get(name);
+        s.visit(generation.value());
         depthFirstSearchR(s, 0);
         debugDFS();
     }
@@ -199,6 +209,7 @@ public class SearchGraph implements Graph {
         time++;
         u.left = time;
         for (Vertex v : u.adj) {
+            v.visit(generation.value());
             if (v.color == Color.WHITE) {
                 // v unexplored
                 v.path = u;
@@ -219,6 +230,7 @@ public class SearchGraph implements Graph {
         System.out.println("debug output");
         System.out.println("vertex: color: distance: path:");
         for (Vertex v : map.values()) {
+            v.visit(generation.value());
             System.out.printf("%-3.3s     %-5s  %-3d       %-3.3s",
                     v.name, v.color, v.dist, v.name);
             Vertex u = v.path;
@@ -238,6 +250,7 @@ public class SearchGraph implements Graph {
         System.out.println("debug output");
         System.out.println("vertex: color: left: right: distance: path:");
         for (Vertex v : map.values()) {
+            v.visit(generation.value());
             System.out.printf("%-3.3s     %-5s  %-3d   %-3d    %-3d       %-3.3s",
                     v.name, v.color, v.left, v.right, v.dist, v.name);
             Vertex u = v.path;
@@ -256,10 +269,16 @@ public class SearchGraph implements Graph {
         }
     }
 
-    // Reset bookkeeping fields to default values for each vertex in graph.
+    /*
+     * Reset bookkeeping fields to default values for each vertex in graph.
+     *
+     * NOTE: Advances generation, so vertices are reset lazily when visited.
+     */
     private void reset() {
-        for (Vertex v : map.values()) {
-            v.reset();
+        if (generation.advance()) {
+            for (Vertex v : map.values()) {
+                v.stamp = Generation.NONE;
+            }
         }
     }
 
@@ -280,14 +299,25 @@ public class SearchGraph implements Graph {
         public Vertex path;
         // Bookkeeping field for color of this vertex.
         public Color color;
+        // Generation in which bookkeeping fields were set.
+        public int stamp;
 
         // Construct vertex with given name.
         public Vertex(String name) {
             this.name = name;
             adj = new LinkedList<Vertex>();
+            stamp = Generation.NONE;
             reset();
         }
 
+        // Reset bookkeeping fields unless set in given generation.
+        public void visit(int generation) {
+            if (stamp != generation) {
+                stamp = generation;
+                reset();
+            }
+        }
+
         // Set bookkeeping fields to default values for this vertex.
         public void reset() {
             left = 0;
@@ -0,0 +1,89 @@
+package com.github.hubbards.algorithms.graph;
+
+/**
+ * SearchHistograms is a {@link SearchListener} which aggregates the metrics
+ * of searches into histograms. It is safe for use by multiple concurrent
+ * threads.
+ *
+ * @author Spencer Hubbard
+ * @see DijkstraGraph#setSearchListener(SearchListener)
+ */
+public final class SearchHistograms implements SearchListener {
+    // Histogram of number of paths added to heap.
+    private final Histogram pushes;
+    // Histogram of number of stale paths removed from heap.
+    private final Histogram stalePops;
+    // Histogram of number of edges relaxed.
+    private final Histogram relaxations;
+    // Histogram of number of vertices settled.
+    private final Histogram settled;
+    // Histogram of wall time in nanoseconds.
+    private final Histogram nanos;
+
+    /**
+     * Construct empty histograms.
+     */
+    public SearchHistograms() {
+        pushes = new Histogram();
+        stalePops = new Histogram();
+        relaxations = new Histogram();
+        settled = new Histogram();
+        nanos = new Histogram();
+    }
+
+    @Override
+    public void searched(SearchMetrics metrics) {
+        pushes.record(metrics.pushes());
+        stalePops.record(metrics.stalePops());
+        relaxations.record(metrics.relaxations());
+        settled.record(metrics.settled());
+        nanos.record(metrics.nanos());
+    }
+
+    /**
+     * Returns the histogram of the number of vertices added to the heap.
+     *
+     * @return the histogram of the number of vertices added to the heap.
+     */
+    public Histogram pushes() {
+        return pushes;
+    }
+
+    /**
+     * Returns the histogram of the number of stale paths removed from the
+     * heap.
+     *
+     * @return the histogram of the number of stale paths removed from the
+     * heap.
+     */
+    public Histogram stalePops() {
+        return stalePops;
+    }
+
+    /**
+     * Returns the histogram of the number of edges relaxed.
+     *
+     * @return the histogram of the number of edges relaxed.
+     */
+    public Histogram relaxations() {
+        return relaxations;
+    }
+
+    /**
+     * Returns the histogram of the number of vertices settled.
+     *
+     * @return the histogram of the number of vertices settled.
+     */
+    public Histogram settled() {
+        return settled;
+    }
+
+    /**
+     * Returns the histogram of the wall time of searches in nanoseconds.
+     *
+     * @return the histogram of the wall time of searches in nanoseconds.
+     */
+    public Histogram nanos() {
+        return nanos;
+    }
+}
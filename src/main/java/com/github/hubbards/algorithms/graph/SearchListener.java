@@ -0,0 +1,18 @@
+package com.github.hubbards.algorithms.graph;
+
+/**
+ * SearchListener receives the metrics of each search of a
+ * {@link DijkstraGraph} or {@link DijkstraSnapshot} as soon as the search is
+ * done.
+ *
+ * @author Spencer Hubbard
+ * @see DijkstraGraph#setSearchListener(SearchListener)
+ */
+public interface SearchListener {
+    /**
+     * Receives the metrics of a search.
+     *
+     * @param metrics the metrics of the search.
+     */
+    void searched(SearchMetrics metrics);
+}
@@ -0,0 +1,99 @@
+package com.github.hubbards.algorithms.graph;
+
+/**
+ * SearchMetrics describes the work done by a single search of a
+ * {@link DijkstraGraph}.
+ *
+ * @author Spencer Hubbard
+ * @see SearchListener
+ */
+public final class SearchMetrics {
+    // Strategy used to organize search.
+    private final SearchStrategy strategy;
+    // Number of paths added to heap.
+    private final int pushes;
+    // Number of stale paths removed from heap.
+    private final int stalePops;
+    // Number of edges relaxed.
+    private final int relaxations;
+    // Number of vertices settled.
+    private final int settled;
+    // Wall time of search in nanoseconds.
+    private final long nanos;
+
+    // Construct metrics with given values.
+    SearchMetrics(SearchStrategy strategy, int pushes, int stalePops,
+                  int relaxations, int settled, long nanos) {
+        this.strategy = strategy;
+        this.pushes = pushes;
+        this.stalePops = stalePops;
+        this.relaxations = relaxations;
+        this.settled = settled;
+        this.nanos = nanos;
+    }
+
+    /**
+     * Returns the strategy used to organize the search.
+     *
+     * @return the strategy used to organize the search.
+     */
+    public SearchStrategy strategy() {
+        return strategy;
+    }
+
+    /**
+     * Returns the number of vertices added to the heap. A vertex added to a
+     * heap without decrease key operation counts once for each time its cost
+     * improved.
+     *
+     * @return the number of vertices added to the heap.
+     */
+    public int pushes() {
+        return pushes;
+    }
+
+    /**
+     * Returns the number of stale paths removed from the heap, i.e., paths to
+     * vertices which were already settled. Heaps with decrease key operation
+     * never hold stale paths.
+     *
+     * @return the number of stale paths removed from the heap.
+     */
+    public int stalePops() {
+        return stalePops;
+    }
+
+    /**
+     * Returns the number of edges relaxed.
+     *
+     * @return the number of edges relaxed.
+     */
+    public int relaxations() {
+        return relaxations;
+    }
+
+    /**
+     * Returns the number of vertices settled.
+     *
+     * @return the number of vertices settled.
+     */
+    public int settled() {
+        return settled;
+    }
+
+    /**
+     * Returns the wall time of the search.
+     *
+     * @return the wall time of the search in nanoseconds.
+     */
+    public long nanos() {
+        return nanos;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchMetrics{strategy=" + strategy + ", pushes=" + pushes
+                + ", stalePops=" + stalePops + ", relaxations=" + relaxations
+                + ", settled=" + settled + ", nanos=" + nanos + "}";
+    }
+}
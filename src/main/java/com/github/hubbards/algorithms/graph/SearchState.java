@@ -0,0 +1,220 @@
+package com.github.hubbards.algorithms.graph;
+
+import java.util.Arrays;
+
+/**
+ * SearchState holds the bookkeeping fields of a single shortest path query,
+ * indexed by vertex id. Keeping this state out of the graph lets many queries
+ * run concurrently against the same graph, and pooling one state per thread
+ * lets a thread reuse its arrays and heaps across queries.
+ * <p>
+ * The bookkeeping fields of a vertex are only valid if the vertex is stamped
+ * with the current generation, so starting a query does not touch every
+ * vertex. Algorithms must call {@link #visit(int)} before reading the fields
+ * of a vertex.
+ *
+ * @author Spencer Hubbard
+ */
+final class SearchState {
+    // Id used for no vertex.
+    static final int NONE = -1;
+
+    // Bookkeeping field for total cost of path to each vertex.
+    final double[] cost;
+    // Bookkeeping field for last vertex in path to each vertex.
+    final int[] last;
+    // Bookkeeping field for color of each vertex.
+    final Color[] color;
+
+    // Number of paths added to heap by last search.
+    int pushes;
+    // Number of stale paths removed from heap by last search.
+    int stalePops;
+    // Number of edges relaxed by last search.
+    int relaxations;
+    // Number of vertices settled by last search.
+    int settled;
+
+    // Generation in which bookkeeping fields of each vertex were set.
+    private final int[] stamp;
+    // Current generation of this state.
+    private final Generation generation;
+
+    // Heap of paths without decrease key, created on demand.
+    private PathHeap paths;
+    // Bucket queue of paths without decrease key, created on demand.
+    private BucketQueue buckets;
+    // Pairing heap of vertex ids, created on demand.
+    private IndexedHeap pairing;
+    // D-ary heap of vertex ids, created on demand.
+    private IndexedHeap dary;
+    // State of backward search, created on demand.
+    private SearchState reverse;
+
+    /**
+     * Construct state for given number of vertices.
+     *
+     * @param capacity the number of vertices.
+     */
+    SearchState(int capacity) {
+        cost = new double[capacity];
+        last = new int[capacity];
+        color = new Color[capacity];
+        stamp = new int[capacity];
+        generation = new Generation();
+    }
+
+    /**
+     * Returns a state from a given per-thread pool for a given number of
+     * vertices, with bookkeeping fields reset to default values. A new state
+     * is pooled if the current thread has none or if its state is too small.
+     * <p>
+     * NOTE: The time-complexity is <em>O(1)</em>, except when a new state is
+     * created or the generation counter wraps around.
+     *
+     * @param pool the given pool.
+     * @param n    the number of vertices.
+     * @return a state of the current thread.
+     */
+    static SearchState acquire(ThreadLocal<SearchState> pool, int n) {
+        SearchState state = pool.get();
+        if (state == null || state.cost.length < n) {
+            state = new SearchState(n);
+            pool.set(state);
+        }
+        state.reset();
+        return state;
+    }
+
+    /**
+     * Sets the bookkeeping fields of a given vertex to default values, unless
+     * they were already set in the current query.
+     *
+     * @param v the id of the given vertex.
+     */
+    void visit(int v) {
+        int g = generation.value();
+        if (stamp[v] != g) {
+            stamp[v] = g;
+            cost[v] = DijkstraGraph.INFINITY;
+            last[v] = NONE;
+            color[v] = Color.WHITE;
+        }
+    }
+
+    /**
+     * Records the work done by the current query.
+     *
+     * @param pushes      the number of paths added to the heap.
+     * @param stalePops   the number of stale paths removed from the heap.
+     * @param relaxations the number of edges relaxed.
+     * @param settled     the number of vertices settled.
+     */
+    void count(int pushes, int stalePops, int relaxations, int settled) {
+        this.pushes = pushes;
+        this.stalePops = stalePops;
+        this.relaxations = relaxations;
+        this.settled = settled;
+    }
+
+    /**
+     * Returns the cost of a path to a given vertex found in the current query.
+     *
+     * @param v the id of the given vertex.
+     * @return the cost of a path to the given vertex, or
+     * {@link DijkstraGraph#INFINITY} if the vertex was not reached.
+     */
+    double cost(int v) {
+        return stamp[v] == generation.value() ? cost[v]
+                : DijkstraGraph.INFINITY;
+    }
+
+    /**
+     * Returns the costs of paths to the first n vertices found in the current
+     * query.
+     *
+     * @param n the number of vertices.
+     * @return a new array of costs indexed by vertex id.
+     */
+    double[] costs(int n) {
+        double[] result = new double[n];
+        for (int v = 0; v < n; v++) {
+            result[v] = cost(v);
+        }
+        return result;
+    }
+
+    /**
+     * Returns an empty heap of paths without decrease key operation.
+     *
+     * @return an empty heap.
+     */
+    PathHeap pathHeap() {
+        if (paths == null) {
+            paths = new PathHeap();
+        }
+        paths.clear();
+        return paths;
+    }
+
+    /**
+     * Returns an empty bucket queue of paths with a given number of buckets.
+     *
+     * @param width the number of buckets.
+     * @return an empty queue.
+     */
+    BucketQueue bucketQueue(int width) {
+        if (buckets == null || buckets.width() != width) {
+            buckets = new BucketQueue(width);
+        }
+        buckets.clear();
+        return buckets;
+    }
+
+    /**
+     * Returns an empty indexed heap for a given search strategy.
+     *
+     * @param strategy the given search strategy.
+     * @return an empty heap.
+     */
+    IndexedHeap indexedHeap(SearchStrategy strategy) {
+        IndexedHeap heap;
+        if (strategy == SearchStrategy.PAIRING_HEAP) {
+            if (pairing == null) {
+                pairing = IndexedHeap.create(strategy, cost.length);
+            }
+            heap = pairing;
+        } else {
+            if (dary == null) {
+                dary = IndexedHeap.create(SearchStrategy.DARY_HEAP,
+                        cost.length);
+            }
+            heap = dary;
+        }
+        heap.clear();
+        return heap;
+    }
+
+    /**
+     * Returns the state for the backward half of a bidirectional search, with
+     * bookkeeping fields reset to default values.
+     *
+     * @return the state for a backward search.
+     */
+    SearchState reverse() {
+        if (reverse == null) {
+            reverse = new SearchState(cost.length);
+        }
+        reverse.reset();
+        return reverse;
+    }
+
+    /**
+     * Resets bookkeeping fields to default values for every vertex.
+     */
+    void reset() {
+        if (generation.advance()) {
+            Arrays.fill(stamp, Generation.NONE);
+        }
+    }
+}
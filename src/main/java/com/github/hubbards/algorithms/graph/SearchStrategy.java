@@ -0,0 +1,41 @@
+package com.github.hubbards.algorithms.graph;
+
+/**
+ * Strategy used to organize the search for a minimum cost path in a
+ * {@link DijkstraGraph}.
+ *
+ * @author Spencer Hubbard
+ */
+public enum SearchStrategy {
+    /**
+     * Binary min heap without decrease key operation. A vertex is added to
+     * the heap each time its cost improves and stale entries are skipped.
+     */
+    BINARY_HEAP,
+
+    /**
+     * Pairing heap of vertex ids with decrease key operation.
+     */
+    PAIRING_HEAP,
+
+    /**
+     * Indexed d-ary heap of vertex ids with decrease key operation.
+     */
+    DARY_HEAP,
+
+    /**
+     * Dial's bucket queue without decrease key operation, with one bucket per
+     * integral cost. Only applies if every edge cost is integral and less than
+     * {@link DijkstraGraph#MAX_BUCKET_COST}, and is selected by default for
+     * such graphs.
+     */
+    BUCKET_QUEUE,
+
+    /**
+     * Bidirectional search, forward from the beginning vertex and backward
+     * from the ending vertex, using indexed d-ary heaps. The search stops once
+     * the sum of the minimum costs in both heaps is at least the cost of the
+     * best path found so far. Single source queries use {@link #DARY_HEAP}.
+     */
+    BIDIRECTIONAL
+}
@@ -0,0 +1,167 @@
+package com.github.hubbards.algorithms.graph;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ShortestPath is the result of a minimum cost path query against a
+ * {@link DijkstraGraph} or {@link DijkstraSnapshot}: the cost of the path
+ * and the ids of the vertices on the path, from the beginning vertex to the
+ * ending vertex. The ids are read from the predecessor of each vertex
+ * recorded by the search, so no extra traversal of the graph is needed.
+ * <p>
+ * A result may be passed to
+ * {@link DijkstraSnapshot#shortestPath(int, int, ShortestPath)} or
+ * {@link DijkstraGraph#shortestPath(String, String, ShortestPath)} again,
+ * which overwrites it and reuses its array of ids, so repeated queries need
+ * not allocate once the array has grown to its working size.
+ *
+ * @author Spencer Hubbard
+ */
+public final class ShortestPath {
+    // Default capacity of array of ids.
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // Snapshot searched for this path, or null if none.
+    private DijkstraSnapshot snapshot;
+    // Graph searched for this path, or null if none.
+    private DijkstraGraph graph;
+    // Cost of this path.
+    private double cost;
+    // Id of each vertex on this path.
+    private int[] ids;
+    // Number of vertices on this path.
+    private int length;
+
+    /**
+     * Construct empty result.
+     */
+    public ShortestPath() {
+        snapshot = null;
+        graph = null;
+        cost = DijkstraGraph.INFINITY;
+        ids = new int[DEFAULT_CAPACITY];
+        length = 0;
+    }
+
+    /**
+     * Checks if a path was found.
+     *
+     * @return <code>true</code> if a path was found, otherwise
+     * <code>false</code>.
+     */
+    public boolean exists() {
+        return length > 0;
+    }
+
+    /**
+     * Returns the cost of this path.
+     *
+     * @return the cost of this path, or {@link DijkstraGraph#INFINITY} if no
+     * path was found.
+     */
+    public double cost() {
+        return cost;
+    }
+
+    /**
+     * Returns the number of vertices on this path, including the beginning
+     * and ending vertex.
+     *
+     * @return the number of vertices on this path, or <code>0</code> if no
+     * path was found.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Returns the id of the vertex at a given position on this path.
+     *
+     * @param i the given position.
+     * @return the id of the vertex at the given position.
+     * @throws IndexOutOfBoundsException if the given position is illegal.
+     */
+    public int id(int i) {
+        if (i < 0 || i >= length) {
+            throw new IndexOutOfBoundsException("index: " + i);
+        }
+        return ids[i];
+    }
+
+    /**
+     * Returns the ids of the vertices on this path.
+     *
+     * @return a new array of the ids of the vertices on this path.
+     */
+    public int[] ids() {
+        return Arrays.copyOf(ids, length);
+    }
+
+    /**
+     * Returns the names of the vertices on this path. The list is a view
+     * backed by this result.
+     *
+     * @return an unmodifiable list of the names of the vertices on this path.
+     */
+    public List<String> names() {
+        return new AbstractList<String>() {
+            @Override
+            public String get(int i) {
+                int id = id(i);
+                return snapshot != null ? snapshot.nameOf(id)
+                        : graph.nameOf(id);
+            }
+
+            @Override
+            public int size() {
+                return length;
+            }
+        };
+    }
+
+    /*
+     * Sets this result to the path to a given target vertex recorded by a
+     * given search state of a given snapshot.
+     */
+    void set(DijkstraSnapshot snapshot, SearchState state, int target) {
+        this.snapshot = snapshot;
+        graph = null;
+        set(state, target);
+    }
+
+    /*
+     * Sets this result to the path to a given target vertex recorded by a
+     * given search state of a given graph.
+     */
+    void set(DijkstraGraph graph, SearchState state, int target) {
+        snapshot = null;
+        this.graph = graph;
+        set(state, target);
+    }
+
+    // Set this result to path to given target vertex in given search state.
+    private void set(SearchState state, int target) {
+        cost = state.cost(target);
+        length = 0;
+        if (cost == DijkstraGraph.INFINITY) {
+            // no path found
+            return;
+        }
+        // count vertices on path
+        int[] last = state.last;
+        for (int v = target; v != SearchState.NONE; v = last[v]) {
+            length++;
+        }
+        if (ids.length < length) {
+            ids = new int[Math.max(length, 2 * ids.length)];
+        }
+        // follow predecessors back from target vertex
+        int i = length;
+        for (int v = target; v != SearchState.NONE; v = last[v]) {
+            i--;
+            ids[i] = v;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.github.hubbards.algorithms.graph;
+
+import java.util.Arrays;
+
+/**
+ * ShortestPathTree holds the minimum cost of a path from a source vertex to
+ * every vertex of a {@link DijkstraGraph}, together with the last vertex
+ * before each vertex on such a path. Vertices are identified by id.
+ * <p>
+ * A tree is kept up to date by the graph which created it. When an edge is
+ * added to the graph or the cost of an edge is lowered, only the vertices
+ * whose minimum cost decreases are settled again, instead of searching the
+ * whole graph from the source vertex.
+ *
+ * @author Spencer Hubbard
+ * @see DijkstraGraph#shortestPathTree(String)
+ */
+public final class ShortestPathTree {
+    // Id of source vertex.
+    private final int source;
+    // Minimum cost of path to each vertex.
+    double[] cost;
+    // Last vertex before each vertex on minimum cost path.
+    int[] last;
+    // Number of vertices.
+    private int n;
+
+    // Construct tree with given source vertex, costs, and last vertices.
+    ShortestPathTree(int source, double[] cost, int[] last) {
+        this.source = source;
+        this.cost = cost;
+        this.last = last;
+        n = cost.length;
+    }
+
+    /**
+     * Returns the id of the source vertex of this tree.
+     *
+     * @return the id of the source vertex.
+     */
+    public int source() {
+        return source;
+    }
+
+    /**
+     * Returns the minimum cost of a path from the source vertex to a vertex
+     * with a given id.
+     *
+     * @param id the id of the given vertex.
+     * @return the minimum cost of a path to the given vertex, or
+     * {@link DijkstraGraph#INFINITY} if it is not reachable.
+     * @throws IndexOutOfBoundsException if the given id is illegal.
+     */
+    public double cost(int id) {
+        checkId(id);
+        return cost[id];
+    }
+
+    /**
+     * Returns the id of the last vertex before a vertex with a given id on a
+     * minimum cost path from the source vertex.
+     *
+     * @param id the id of the given vertex.
+     * @return the id of the last vertex before the given vertex, or
+     * <code>-1</code> for the source vertex and vertices which are not
+     * reachable.
+     * @throws IndexOutOfBoundsException if the given id is illegal.
+     */
+    public int last(int id) {
+        checkId(id);
+        return last[id];
+    }
+
+    /**
+     * Returns the minimum cost of a path from the source vertex to every
+     * vertex.
+     *
+     * @return a new array of minimum costs indexed by vertex id.
+     */
+    public double[] costs() {
+        return Arrays.copyOf(cost, n);
+    }
+
+    // Add unreachable vertices until this tree has given number of vertices.
+    void grow(int size) {
+        if (size <= n) {
+            return;
+        }
+        if (cost.length < size) {
+            int capacity = Math.max(size, 2 * cost.length);
+            cost = Arrays.copyOf(cost, capacity);
+            last = Arrays.copyOf(last, capacity);
+        }
+        Arrays.fill(cost, n, size, DijkstraGraph.INFINITY);
+        Arrays.fill(last, n, size, SearchState.NONE);
+        n = size;
+    }
+
+    // Throw IndexOutOfBoundsException if given id is illegal.
+    private void checkId(int id) {
+        if (id < 0 || id >= n) {
+            throw new IndexOutOfBoundsException("id: " + id);
+        }
+    }
+}
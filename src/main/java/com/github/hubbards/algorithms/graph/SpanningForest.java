@@ -0,0 +1,135 @@
+package com.github.hubbards.algorithms.graph;
+
+import java.util.Arrays;
+
+/**
+ * SpanningForest is the result of a minimum spanning tree query against a
+ * {@link PrimGraph} or {@link KruskalGraph}: the edges of a minimum spanning
+ * tree of each connected component of the graph, together with their total
+ * cost and the number of components. Vertices are identified by index, in
+ * the order in which they were added to the graph.
+ * <p>
+ * The graph is connected if and only if the forest has at most one
+ * component, so connectivity is known from the same search which finds the
+ * forest. Each minimum spanning tree engine treats an empty graph the same
+ * way: it is connected, and its minimum spanning tree has no edges and cost
+ * zero.
+ *
+ * @author Spencer Hubbard
+ */
+public final class SpanningForest {
+    // Name of each vertex indexed by index.
+    private final String[] names;
+    // Index of one end-point of each tree edge.
+    private final int[] tails;
+    // Index of other end-point of each tree edge.
+    private final int[] heads;
+    // Cost of each tree edge.
+    private final double[] costs;
+    // Total cost of tree edges.
+    private final double cost;
+
+    // Construct forest with given vertices and tree edges.
+    SpanningForest(String[] names, int[] tails, int[] heads, double[] costs,
+                   int size) {
+        this.names = names;
+        this.tails = Arrays.copyOf(tails, size);
+        this.heads = Arrays.copyOf(heads, size);
+        this.costs = Arrays.copyOf(costs, size);
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            total += costs[i];
+        }
+        cost = total;
+    }
+
+    /**
+     * Returns the total cost of the edges of this forest.
+     *
+     * @return the total cost of the edges of this forest.
+     */
+    public double cost() {
+        return cost;
+    }
+
+    /**
+     * Returns the number of vertices of the graph.
+     *
+     * @return the number of vertices of the graph.
+     */
+    public int vertexCount() {
+        return names.length;
+    }
+
+    /**
+     * Returns the number of edges of this forest, which is the number of
+     * vertices minus the number of components.
+     *
+     * @return the number of edges of this forest.
+     */
+    public int edgeCount() {
+        return costs.length;
+    }
+
+    /**
+     * Returns the number of trees of this forest, which is the number of
+     * connected components of the graph.
+     *
+     * @return the number of components of the graph.
+     */
+    public int componentCount() {
+        return names.length - costs.length;
+    }
+
+    /**
+     * Checks if the graph is connected, i.e., this forest is a spanning tree.
+     * An empty graph is connected.
+     *
+     * @return <code>true</code> if the graph is connected, otherwise
+     * <code>false</code>.
+     */
+    public boolean isConnected() {
+        return componentCount() <= 1;
+    }
+
+    /**
+     * Returns the name of a vertex with a given index.
+     *
+     * @param index the given index.
+     * @return the name of the given vertex.
+     * @throws IndexOutOfBoundsException if the given index is illegal.
+     */
+    public String nameOf(int index) {
+        if (index < 0 || index >= names.length) {
+            throw new IndexOutOfBoundsException("index: " + index);
+        }
+        return names[index];
+    }
+
+    /**
+     * Returns the index of one end-point of each edge of this forest.
+     *
+     * @return a new array of indices, in the order the edges were found.
+     */
+    public int[] tails() {
+        return tails.clone();
+    }
+
+    /**
+     * Returns the index of the other end-point of each edge of this forest.
+     *
+     * @return a new array of indices, in the order the edges were found.
+     */
+    public int[] heads() {
+        return heads.clone();
+    }
+
+    /**
+     * Returns the cost of each edge of this forest.
+     *
+     * @return a new array of costs, in the order the edges were found.
+     */
+    public double[] costs() {
+        return costs.clone();
+    }
+}
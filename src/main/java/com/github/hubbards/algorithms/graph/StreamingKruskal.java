@@ -0,0 +1,508 @@
+package com.github.hubbards.algorithms.graph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * StreamingKruskal finds the cost of a minimum spanning tree of a graph with
+ * more edges than fit in memory using Kruskal's algorithm. Vertices are
+ * identified by index, between <code>0</code> (inclusive) and the number of
+ * vertices (exclusive).
+ * <p>
+ * Edges are added one at a time, or read from a stream, into a run of bounded
+ * size. When a run is full, its edges are sorted by cost and spilled to a
+ * temporary file. The runs are then merged in order of cost into a
+ * {@link SequentialDisjointSet}, so only the current run, one buffered edge
+ * per open run, and <em>O(n)</em> state for the vertices are kept in memory.
+ * At most 64 runs are open at once: if more runs were spilled, then groups of
+ * runs are first merged into longer runs, in as many passes as needed, and
+ * the longer runs replace them.
+ * <p>
+ * NOTE: Multiple edges are not detected, since that would take memory for
+ *       every edge. They do not change the cost of a minimum spanning tree.
+ * <p>
+ * Temporary files are kept until the engine is closed, so the cost may be
+ * computed again after more edges are added.
+ *
+ * @author Spencer Hubbard
+ * @see KruskalGraph
+ */
+public final class StreamingKruskal implements Closeable {
+    // Size in bytes of an edge in a stream or run file.
+    private static final int RECORD_SIZE = 16;
+    // Maximum number of runs merged at once.
+    static final int MAX_FAN_IN = 64;
+
+    // Number of vertices.
+    private final int n;
+    // Directory for run files, or null for default temporary directory.
+    private final File directory;
+    // Index of one end-point of each edge in current run.
+    private final int[] tails;
+    // Index of other end-point of each edge in current run.
+    private final int[] heads;
+    // Cost of each edge in current run.
+    private final CostColumn costs;
+    // Number of edges in current run.
+    private int size;
+    // Maximum number of runs merged at once.
+    private final int fanIn;
+    // Run files spilled or merged so far, oldest first.
+    private final List<File> runs;
+    // Number of edges added.
+    private long m;
+
+    /**
+     * Construct engine for a given number of vertices, which keeps at most a
+     * given number of edges in memory, and spills runs to the default
+     * temporary directory.
+     *
+     * @param vertexCount the given number of vertices.
+     * @param runSize     the maximum number of edges in a run.
+     * @throws IllegalArgumentException if the given number of vertices is
+     *                                  negative or the given run size is not
+     *                                  positive.
+     */
+    public StreamingKruskal(int vertexCount, int runSize) {
+        this(vertexCount, runSize, null);
+    }
+
+    /**
+     * Construct engine for a given number of vertices, which keeps at most a
+     * given number of edges in memory, and spills runs to a given directory.
+     *
+     * @param vertexCount the given number of vertices.
+     * @param runSize     the maximum number of edges in a run.
+     * @param directory   the directory for run files, or <code>null</code>
+     *                    for the default temporary directory.
+     * @throws IllegalArgumentException if the given number of vertices is
+     *                                  negative or the given run size is not
+     *                                  positive.
+     */
+    public StreamingKruskal(int vertexCount, int runSize, File directory) {
+        this(vertexCount, runSize, directory, MAX_FAN_IN);
+    }
+
+    // Construct engine which merges at most given number of runs at once.
+    StreamingKruskal(int vertexCount, int runSize, File directory,
+                     int fanIn) {
+        checkArgument(vertexCount >= 0, "number of vertices is negative");
+        checkArgument(runSize > 0, "run size must be positive");
+        checkArgument(fanIn >= 2, "fan-in must be at least two");
+        n = vertexCount;
+        this.directory = directory;
+        this.fanIn = fanIn;
+        tails = new int[runSize];
+        heads = new int[runSize];
+        costs = CostColumn.create(CostStorage.DOUBLE, runSize);
+        size = 0;
+        runs = new ArrayList<File>();
+        m = 0;
+    }
+
+    /**
+     * Returns the number of vertices.
+     *
+     * @return the number of vertices.
+     */
+    public int vertexCount() {
+        return n;
+    }
+
+    /**
+     * Returns the number of edges added.
+     *
+     * @return the number of edges added.
+     */
+    public long edgeCount() {
+        return m;
+    }
+
+    /**
+     * Returns the number of runs in temporary files, which decreases when
+     * runs are merged by {@link #minimumSpanningTreeCost()}.
+     *
+     * @return the number of runs in temporary files.
+     */
+    public int runCount() {
+        return runs.size();
+    }
+
+    /**
+     * Adds an edge with given end-points and cost.
+     *
+     * @param tail the index of one end-point.
+     * @param head the index of the other end-point.
+     * @param cost the cost of the given edge.
+     * @throws IndexOutOfBoundsException if a given index is illegal.
+     * @throws GraphException            if edge is a loop or cost is
+     *                                   non-positive.
+     * @throws IOException               if the current run is full and an
+     *                                   I/O error occurs while spilling it.
+     */
+    public void addEdge(int tail, int head, double cost) throws IOException {
+        // check preconditions
+        checkIndex(tail);
+        checkIndex(head);
+        if (tail == head) {
+            throw new GraphException("loop");
+        }
+        if (cost <= 0) {
+            throw new GraphException("non-positive edge cost");
+        }
+        if (size == costs.length()) {
+            spill();
+        }
+        // add edge to current run
+        tails[size] = tail;
+        heads[size] = head;
+        costs.set(size, cost);
+        size++;
+        m++;
+    }
+
+    /**
+     * Adds each edge in a given stream, until the end of the stream. Each
+     * edge is the index of one end-point (as an <code>int</code>), the index
+     * of the other end-point (as an <code>int</code>), and the cost (as a
+     * <code>double</code>), in the format of {@link DataInputStream}.
+     *
+     * @param in the given stream.
+     * @throws IndexOutOfBoundsException if an index is illegal.
+     * @throws GraphException            if an edge is a loop or a cost is
+     *                                   non-positive.
+     * @throws IOException               if an I/O error occurs or the stream
+     *                                   ends in the middle of an edge.
+     */
+    public void read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(
+                new BufferedInputStream(checkNotNull(in)));
+        byte[] record = new byte[RECORD_SIZE];
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        while (true) {
+            int first = data.read();
+            if (first == -1) {
+                // end of stream
+                return;
+            }
+            // throws EOFException if stream ends in middle of edge
+            record[0] = (byte) first;
+            data.readFully(record, 1, RECORD_SIZE - 1);
+            addEdge(buffer.getInt(0), buffer.getInt(4), buffer.getDouble(8));
+        }
+    }
+
+    /**
+     * Finds the cost of a minimum spanning tree of the added edges using
+     * Kruskal's algorithm, merging the spilled runs and the current run in
+     * order of cost.
+     *
+     * @return cost of a minimum spanning tree.
+     * @throws GraphException if the graph is not connected.
+     * @throws IOException    if an I/O error occurs while reading a run.
+     */
+    public double minimumSpanningTreeCost() throws IOException {
+        return kruskal();
+    }
+
+    /**
+     * Deletes the temporary files of spilled runs and discards all edges.
+     *
+     * @throws IOException if a temporary file could not be deleted.
+     */
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (File run : runs) {
+            if (!run.delete() && run.exists()) {
+                failure = new IOException("could not delete " + run);
+            }
+        }
+        runs.clear();
+        size = 0;
+        m = 0;
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /*
+     * Finds the minimum spanning tree of the added edges using Kruskal's
+     * algorithm.
+     *
+     * NOTE: Uses (binary min heap) priority queue of runs, ordered by cost of
+     *       next edge, to merge runs.
+     * NOTE: Stops once n - 1 edges are in the tree, since every remaining
+     *       edge would form a cycle.
+     * NOTE: The time-complexity is O(m * log(m)) and the number of bytes
+     *       read and written is O(m * log(r) / log(f)), where m is the
+     *       number of edges, r is the number of runs, and f is the fan-in.
+     */
+    private double kruskal() throws IOException {
+        // leave room for current run in final merge
+        while (runs.size() > fanIn - 1) {
+            // merging k runs removes k - 1 runs
+            merge(Math.min(fanIn, runs.size() - fanIn + 2));
+        }
+        DisjointSet sets = new SequentialDisjointSet(n);
+        double cost = 0;
+        PriorityQueue<Run> heap = new PriorityQueue<Run>();
+        try {
+            // begin merge with first edge of each run
+            for (File file : runs) {
+                advance(new FileRun(file), heap);
+            }
+            advance(new MemoryRun(tails, heads, costs, size), heap);
+            while (!heap.isEmpty() && sets.componentCount() > 1) {
+                Run run = heap.poll();
+                if (sets.union(run.tail, run.head)) {
+                    // edge does not form a cycle with tree edges
+                    cost += run.cost;
+                }
+                advance(run, heap);
+            }
+        } finally {
+            close(heap);
+        }
+        if (sets.componentCount() > 1) {
+            throw new GraphException("graph is not connected");
+        }
+        return cost;
+    }
+
+    /*
+     * Merges a given number of the oldest run files into a new run file,
+     * which replaces them as the newest run.
+     */
+    private void merge(int k) throws IOException {
+        List<File> group = runs.subList(0, k);
+        File file = File.createTempFile("kruskal", ".run", directory);
+        try {
+            DataOutputStream data = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(file)));
+            try {
+                PriorityQueue<Run> heap = new PriorityQueue<Run>();
+                try {
+                    for (File run : group) {
+                        advance(new FileRun(run), heap);
+                    }
+                    while (!heap.isEmpty()) {
+                        Run run = heap.poll();
+                        data.writeInt(run.tail);
+                        data.writeInt(run.head);
+                        data.writeDouble(run.cost);
+                        advance(run, heap);
+                    }
+                } finally {
+                    close(heap);
+                }
+            } finally {
+                data.close();
+            }
+        } catch (IOException e) {
+            // keep merged runs, discard partial run
+            file.delete();
+            throw e;
+        }
+        // replace merged runs with new run
+        IOException failure = null;
+        for (File run : group) {
+            if (!run.delete() && run.exists()) {
+                failure = new IOException("could not delete " + run);
+            }
+        }
+        group.clear();
+        runs.add(file);
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /*
+     * Advances a given run, which is not in a given heap, to its next edge
+     * and adds it to the heap. The run is closed if it has no next edge or if
+     * reading the next edge fails, so it never leaks outside the heap.
+     */
+    private static void advance(Run run, PriorityQueue<Run> heap)
+            throws IOException {
+        boolean more;
+        try {
+            more = run.next();
+        } catch (IOException e) {
+            try {
+                run.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        if (more) {
+            heap.add(run);
+        } else {
+            run.close();
+        }
+    }
+
+    // Close each run in given heap, even if closing some run fails.
+    private static void close(PriorityQueue<Run> heap) throws IOException {
+        IOException failure = null;
+        for (Run run : heap) {
+            try {
+                run.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        heap.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // Sort current run by cost and write it to a temporary file.
+    private void spill() throws IOException {
+        int[] ids = new int[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = i;
+        }
+        int[] sorted = KruskalGraph.sort(costs, ids, size);
+        File file = File.createTempFile("kruskal", ".run", directory);
+        runs.add(file);
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(file)));
+        try {
+            for (int e : sorted) {
+                data.writeInt(tails[e]);
+                data.writeInt(heads[e]);
+                data.writeDouble(costs.get(e));
+            }
+        } finally {
+            data.close();
+        }
+        size = 0;
+    }
+
+    // Throw IndexOutOfBoundsException if given index is illegal.
+    private void checkIndex(int index) {
+        if (index < 0 || index >= n) {
+            throw new IndexOutOfBoundsException("index: " + index);
+        }
+    }
+
+    /*
+     * Run is a sequence of edges sorted by cost, with a cursor at the current
+     * edge. Runs are ordered by the cost of their current edge.
+     */
+    private abstract static class Run implements Comparable<Run>, Closeable {
+        // Index of one end-point of current edge.
+        int tail;
+        // Index of other end-point of current edge.
+        int head;
+        // Cost of current edge.
+        double cost;
+
+        // Advance to next edge, and return false if there is no next edge.
+        abstract boolean next() throws IOException;
+
+        // Compare cost of current edge of this run with that of given run.
+        public int compareTo(Run other) {
+            return Double.compare(cost, other.cost);
+        }
+    }
+
+    // FileRun is a run read from a temporary file.
+    private static final class FileRun extends Run {
+        // Stream of edges in file.
+        private final DataInputStream data;
+        // Number of edges left in file.
+        private long remaining;
+
+        // Construct run for given file.
+        FileRun(File file) throws IOException {
+            remaining = file.length() / RECORD_SIZE;
+            data = new DataInputStream(new BufferedInputStream(
+                    new FileInputStream(file)));
+        }
+
+        @Override
+        boolean next() throws IOException {
+            if (remaining == 0) {
+                return false;
+            }
+            tail = data.readInt();
+            head = data.readInt();
+            cost = data.readDouble();
+            remaining--;
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            data.close();
+        }
+    }
+
+    // MemoryRun is the current run, sorted in memory.
+    private static final class MemoryRun extends Run {
+        // Index of one end-point of each edge.
+        private final int[] tails;
+        // Index of other end-point of each edge.
+        private final int[] heads;
+        // Cost of each edge.
+        private final CostColumn costs;
+        // Indices of edges sorted by cost.
+        private final int[] sorted;
+        // Position of next edge.
+        private int position;
+
+        // Construct run for given number of edges in given arrays.
+        MemoryRun(int[] tails, int[] heads, CostColumn costs, int size) {
+            this.tails = tails;
+            this.heads = heads;
+            this.costs = costs;
+            int[] ids = new int[size];
+            for (int i = 0; i < size; i++) {
+                ids[i] = i;
+            }
+            sorted = KruskalGraph.sort(costs, ids, size);
+            position = 0;
+        }
+
+        @Override
+        boolean next() {
+            if (position == sorted.length) {
+                return false;
+            }
+            int e = sorted[position];
+            tail = tails[e];
+            head = heads[e];
+            cost = costs.get(e);
+            position++;
+            return true;
+        }
+
+        @Override
+        public void close() {
+            // nothing to release
+        }
+    }
+}
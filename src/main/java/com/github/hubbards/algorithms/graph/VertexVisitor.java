@@ -0,0 +1,20 @@
+package com.github.hubbards.algorithms.graph;
+
+/**
+ * VertexVisitor receives the vertices settled by a search in order of
+ * increasing cost, as soon as each vertex is settled. Vertices are identified
+ * by id. A visitor runs in the middle of the search, so it must not query the
+ * snapshot which runs the search on the same thread.
+ *
+ * @author Spencer Hubbard
+ * @see DijkstraSnapshot#nearest(int[], double, int, VertexVisitor)
+ */
+public interface VertexVisitor {
+    /**
+     * Visits a settled vertex with a given id.
+     *
+     * @param id   the id of the settled vertex.
+     * @param cost the minimum cost of a path to the settled vertex.
+     */
+    void visit(int id, double cost);
+}
@@ -0,0 +1,97 @@
+package com.github.hubbards.algorithms.graph;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class is a simple test suite for {@link BoruvkaGraph}.
+ *
+ * @author Spencer Hubbard
+ */
+public class BoruvkaGraphTest {
+    private static final double DELTA = 0.001;
+
+    @Test
+    public void testMinimumSpanningTreeCostForComplexGraph() {
+        BoruvkaGraph graph = new BoruvkaGraph();
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addVertex("c");
+        graph.addVertex("d");
+        graph.addVertex("e");
+        graph.addVertex("f");
+        graph.addVertex("g");
+        graph.addWeightedEdge("a", "b", 2);
+        graph.addWeightedEdge("a", "c", 4);
+        graph.addWeightedEdge("a", "d", 1);
+        graph.addWeightedEdge("b", "d", 3);
+        graph.addWeightedEdge("b", "e", 10);
+        graph.addWeightedEdge("c", "d", 2);
+        graph.addWeightedEdge("c", "f", 5);
+        graph.addWeightedEdge("d", "e", 7);
+        graph.addWeightedEdge("d", "f", 8);
+        graph.addWeightedEdge("d", "g", 4);
+        graph.addWeightedEdge("e", "g", 6);
+        graph.addWeightedEdge("f", "g", 1);
+
+        assertEquals(16, graph.minimumSpanningTreeCost(), DELTA);
+        assertTrue(graph.containsEdge("g", "f"));
+        assertFalse(graph.containsEdge("a", "g"));
+    }
+
+    @Test(expected = GraphException.class)
+    public void testAddWeightedEdgeForMultipleEdge() {
+        BoruvkaGraph graph = new BoruvkaGraph();
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addWeightedEdge("a", "b", 2);
+        graph.addWeightedEdge("b", "a", 3);
+    }
+
+    @Test
+    public void testMinimumSpanningTreeCostForRandomGraph() {
+        BoruvkaGraph graph = new BoruvkaGraph();
+        KruskalGraph other = new KruskalGraph();
+        PrimGraphTest.randomGraph(graph, other, 300, 2000, new Random(20));
+
+        assertEquals(other.minimumSpanningTreeCost(),
+                graph.minimumSpanningTreeCost(), DELTA);
+    }
+
+    @Test
+    public void testMinimumSpanningTreeCostForEqualCosts() {
+        // many equal costs and enough edges to split work between tasks
+        BoruvkaGraph graph = new BoruvkaGraph();
+        int n = 20000;
+        Random random = new Random(20);
+        for (int i = 0; i < n; i++) {
+            graph.addVertex("v" + i);
+        }
+        for (int i = 1; i < n; i++) {
+            graph.addWeightedEdge("v" + random.nextInt(i), "v" + i, 1);
+        }
+        for (int k = 0; k < 4 * n; k++) {
+            String name1 = "v" + random.nextInt(n);
+            String name2 = "v" + random.nextInt(n);
+            if (!name1.equals(name2) && !graph.containsEdge(name1, name2)) {
+                graph.addWeightedEdge(name1, name2, 1);
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(n - 1, graph.minimumSpanningTreeCost(pool), DELTA);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testMinimumSpanningTreeCostForEmptyGraph() {
+        assertEquals(0, new BoruvkaGraph().minimumSpanningTreeCost(), DELTA);
+    }
+}
@@ -0,0 +1,137 @@
+package com.github.hubbards.algorithms.graph;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class is a simple test suite for {@link ContractionHierarchy}.
+ *
+ * @author Spencer Hubbard
+ */
+public class ContractionHierarchyTest {
+    private static final double DELTA = 0.001;
+
+    @Test
+    public void testMinimumCostPath() {
+        DijkstraSnapshot snapshot = DijkstraSnapshotTest.complexGraph()
+                .freeze();
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(snapshot);
+
+        for (int s = 0; s < snapshot.vertexCount(); s++) {
+            double[] costs = snapshot.minimumCosts(s);
+            for (int t = 0; t < snapshot.vertexCount(); t++) {
+                assertEquals(costs[t], hierarchy.minimumCostPath(s, t), DELTA);
+            }
+        }
+        assertEquals(snapshot.minimumCostPath("b", "g"),
+                hierarchy.minimumCostPath("b", "g"), DELTA);
+    }
+
+    @Test
+    public void testMinimumCostPathOnRandomGraph() {
+        int n = 300;
+        DijkstraSnapshot snapshot = DijkstraGraphTest.randomGraph(n, 900,
+                new Random(5)).freeze();
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(snapshot);
+        Random random = new Random(6);
+        for (int q = 0; q < 200; q++) {
+            int source = random.nextInt(n);
+            int target = random.nextInt(n);
+            assertEquals(snapshot.minimumCostPath(source, target),
+                    hierarchy.minimumCostPath(source, target), DELTA);
+        }
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        int n = 100;
+        DijkstraSnapshot snapshot = DijkstraGraphTest.randomGraph(n, 300,
+                new Random(7)).freeze();
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(snapshot);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        hierarchy.write(out);
+
+        ContractionHierarchy copy = ContractionHierarchy.read(
+                new ByteArrayInputStream(out.toByteArray()), snapshot);
+        assertEquals(hierarchy.edgeCount(), copy.edgeCount());
+        for (int s = 0; s < n; s += 7) {
+            for (int t = 0; t < n; t++) {
+                assertEquals(hierarchy.minimumCostPath(s, t),
+                        copy.minimumCostPath(s, t), 0);
+            }
+        }
+    }
+
+    @Test(expected = GraphException.class)
+    public void testReadForDifferentSnapshot() throws IOException {
+        DijkstraGraph graph = DijkstraSnapshotTest.complexGraph();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ContractionHierarchy.build(graph.freeze()).write(out);
+        graph.addVertex("h");
+
+        ContractionHierarchy.read(new ByteArrayInputStream(out.toByteArray()),
+                graph.freeze());
+    }
+
+    @Test(expected = GraphException.class)
+    public void testReadForSnapshotWithDifferentNames() throws IOException {
+        DijkstraGraph graph1 = new DijkstraGraph();
+        graph1.addVertex("a");
+        graph1.addVertex("b");
+        graph1.addWeightedEdge("a", "b", 1);
+        DijkstraGraph graph2 = new DijkstraGraph();
+        graph2.addVertex("a");
+        graph2.addVertex("c");
+        graph2.addWeightedEdge("a", "c", 1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ContractionHierarchy.build(graph1.freeze()).write(out);
+
+        ContractionHierarchy.read(new ByteArrayInputStream(out.toByteArray()),
+                graph2.freeze());
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadForDecreasingOffset() throws IOException {
+        DijkstraSnapshot snapshot = DijkstraSnapshotTest.complexGraph()
+                .freeze();
+        byte[] bytes = write(snapshot);
+        // second offset of upward edges
+        int position = upwardEdges(snapshot) + 4 + 4;
+        ByteBuffer.wrap(bytes).putInt(position, -1);
+
+        ContractionHierarchy.read(new ByteArrayInputStream(bytes), snapshot);
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadForIllegalHead() throws IOException {
+        DijkstraSnapshot snapshot = DijkstraSnapshotTest.complexGraph()
+                .freeze();
+        byte[] bytes = write(snapshot);
+        // head of first upward edge
+        int n = snapshot.vertexCount();
+        int position = upwardEdges(snapshot) + 4 + 4 * (n + 1);
+        ByteBuffer.wrap(bytes).putInt(position, n);
+
+        ContractionHierarchy.read(new ByteArrayInputStream(bytes), snapshot);
+    }
+
+    // Return hierarchy for given snapshot written to byte array.
+    private static byte[] write(DijkstraSnapshot snapshot) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ContractionHierarchy.build(snapshot).write(out);
+        return out.toByteArray();
+    }
+
+    // Return position of upward edges in stream of hierarchy for given
+    // snapshot, after magic, counts, fingerprint and ranks.
+    private static int upwardEdges(DijkstraSnapshot snapshot) {
+        return 4 + 4 + 4 + 8 + 4 * snapshot.vertexCount();
+    }
+}
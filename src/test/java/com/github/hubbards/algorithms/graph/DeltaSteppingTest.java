@@ -0,0 +1,55 @@
+package com.github.hubbards.algorithms.graph;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class is a simple test suite for {@link DeltaStepping}.
+ *
+ * @author Spencer Hubbard
+ */
+public class DeltaSteppingTest {
+    private static final double DELTA = 0.001;
+
+    @Test
+    public void testMinimumCostsForComplexGraph() {
+        DijkstraSnapshot snapshot = DijkstraSnapshotTest.complexGraph()
+                .freeze();
+        DeltaStepping engine = new DeltaStepping(snapshot, 3);
+
+        double[] costs = engine.minimumCosts(snapshot.indexOf("a"));
+        double[] expected = {0, 2, 4, 1, 8, 9, 5};
+        for (String name : new String[]{"a", "b", "c", "d", "e", "f", "g"}) {
+            assertEquals(expected[name.charAt(0) - 'a'],
+                    costs[snapshot.indexOf(name)], DELTA);
+        }
+    }
+
+    @Test
+    public void testMinimumCostsOnRandomGraph() {
+        int n = 3000;
+        DijkstraSnapshot snapshot = DijkstraGraphTest.randomGraph(n, 15000,
+                new Random(10)).freeze();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Random random = new Random(11);
+            for (double delta : new double[]{0.5, 5, 50, 1000}) {
+                DeltaStepping engine = new DeltaStepping(snapshot, delta);
+                int source = random.nextInt(n);
+                assertArrayEquals(snapshot.minimumCosts(source),
+                        engine.minimumCosts(source, pool), 0);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveDelta() {
+        new DeltaStepping(DijkstraSnapshotTest.complexGraph().freeze(), 0);
+    }
+}
@@ -2,6 +2,14 @@ package com.github.hubbards.algorithms.graph;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.junit.Assert.*;
 
 /**
@@ -39,4 +47,284 @@ public class DijkstraGraphTest {
 
         assertEquals(5, graph.minimumCostPath("a", "g"), DELTA);
     }
+
+    @Test
+    public void testFreezeAndModify() {
+        DijkstraGraph graph = DijkstraSnapshotTest.complexGraph();
+
+        assertFalse(graph.isFrozen());
+        assertSame(graph.freeze(), graph.freeze());
+        assertTrue(graph.isFrozen());
+        assertEquals(5, graph.minimumCostPath("a", "g"), DELTA);
+
+        // modifying graph discards snapshot
+        graph.addWeightedEdge("a", "g", 3);
+        assertFalse(graph.isFrozen());
+        assertEquals(3, graph.minimumCostPath("a", "g"), DELTA);
+        assertEquals(3, graph.freeze().minimumCostPath("a", "g"), DELTA);
+    }
+
+    @Test
+    public void testMinimumCostPathForEachStrategy() {
+        DijkstraGraph graph = DijkstraSnapshotTest.complexGraph();
+
+        for (SearchStrategy strategy : SearchStrategy.values()) {
+            assertEquals(strategy.name(), 5,
+                    graph.minimumCostPath("a", "g", strategy), DELTA);
+            assertEquals(strategy.name(), 7,
+                    graph.minimumCostPath("b", "g", strategy), DELTA);
+            assertEquals(strategy.name(), DijkstraGraph.INFINITY,
+                    graph.minimumCostPath("g", "a", strategy), DELTA);
+        }
+    }
+
+    @Test
+    public void testBidirectionalAfterModify() {
+        DijkstraGraph graph = DijkstraSnapshotTest.complexGraph();
+        SearchStrategy strategy = SearchStrategy.BIDIRECTIONAL;
+        assertEquals(5, graph.minimumCostPath("a", "g", strategy), DELTA);
+
+        // reverse adjacency lists are kept up to date once built
+        graph.addVertex("h");
+        graph.addWeightedEdge("g", "h", 2);
+        graph.addWeightedEdge("c", "h", 3);
+        assertEquals(7, graph.minimumCostPath("a", "h", strategy), DELTA);
+        graph.decreaseEdgeCost("a", "c", 1);
+        assertEquals(4, graph.minimumCostPath("a", "h", strategy), DELTA);
+        assertEquals(4, graph.minimumCostPath("a", "h"), DELTA);
+    }
+
+    @Test
+    public void testMinimumCostsForEachStrategy() {
+        DijkstraGraph graph = DijkstraSnapshotTest.complexGraph();
+        double[] expected = {0, 2, 4, 1, 8, 9, 5};
+
+        for (SearchStrategy strategy : SearchStrategy.values()) {
+            double[] costs = graph.minimumCosts("a", strategy);
+            for (String name : new String[]{"a", "b", "c", "d", "e", "f", "g"}) {
+                int id = graph.indexOf(name);
+                assertEquals(expected[name.charAt(0) - 'a'], costs[id], DELTA);
+            }
+        }
+    }
+
+    @Test
+    public void testConcurrentMinimumCostPath() throws Exception {
+        final int n = 200;
+        final DijkstraGraph graph = randomGraph(n, 1000, new Random(0));
+        // compute expected costs sequentially
+        final double[][] expected = new double[n][];
+        for (int i = 0; i < n; i++) {
+            expected[i] = graph.minimumCosts(graph.nameOf(i));
+        }
+        // query graph and its snapshot from many threads at once
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+            for (int k = 0; k < 32; k++) {
+                final Random random = new Random(k);
+                final DijkstraSnapshot snapshot = k % 2 == 0 ? null
+                        : graph.freeze();
+                futures.add(executor.submit(new Callable<Boolean>() {
+                    public Boolean call() {
+                        for (int q = 0; q < 200; q++) {
+                            int i = random.nextInt(n);
+                            int j = random.nextInt(n);
+                            double cost = snapshot == null
+                                    ? graph.minimumCostPath(graph.nameOf(i),
+                                    graph.nameOf(j), SearchStrategy.DARY_HEAP)
+                                    : snapshot.minimumCostPath(i, j);
+                            if (cost != expected[i][j]) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testStrategiesAgreeOnRandomGraph() {
+        int n = 100;
+        DijkstraGraph graph = randomGraph(n, 300, new Random(1));
+        Random random = new Random(2);
+        for (int q = 0; q < 50; q++) {
+            String name1 = graph.nameOf(random.nextInt(n));
+            String name2 = graph.nameOf(random.nextInt(n));
+            double expected = graph.minimumCosts(name1)[graph.indexOf(name2)];
+            for (SearchStrategy strategy : SearchStrategy.values()) {
+                assertEquals(strategy.name(), expected,
+                        graph.minimumCostPath(name1, name2, strategy), DELTA);
+                assertEquals(strategy.name(), expected, graph.freeze()
+                        .minimumCostPath(name1, name2, strategy), DELTA);
+            }
+        }
+    }
+
+    @Test
+    public void testMinimumCostPathForNonIntegralCosts() {
+        DijkstraGraph graph = new DijkstraGraph();
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addVertex("c");
+        graph.addWeightedEdge("a", "b", 1.5);
+        graph.addWeightedEdge("b", "c", 2.25);
+        graph.addWeightedEdge("a", "c", 4);
+
+        assertEquals(3.75, graph.minimumCostPath("a", "c"), DELTA);
+        assertEquals(3.75, graph.freeze().minimumCostPath("a", "c"), DELTA);
+    }
+
+    @Test(expected = GraphException.class)
+    public void testBucketQueueForNonIntegralCosts() {
+        DijkstraGraph graph = new DijkstraGraph();
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addWeightedEdge("a", "b", 0.5);
+
+        graph.minimumCostPath("a", "b", SearchStrategy.BUCKET_QUEUE);
+    }
+
+    @Test(expected = GraphException.class)
+    public void testBucketQueueForLargeCosts() {
+        DijkstraGraph graph = new DijkstraGraph();
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addWeightedEdge("a", "b", DijkstraGraph.MAX_BUCKET_COST);
+
+        graph.freeze().minimumCostPath("a", "b", SearchStrategy.BUCKET_QUEUE);
+    }
+
+    @Test
+    public void testCostStorage() {
+        for (CostStorage storage : CostStorage.values()) {
+            DijkstraGraph graph = new DijkstraGraph(storage);
+            graph.addVertex("a");
+            graph.addVertex("b");
+            graph.addVertex("c");
+            graph.addWeightedEdge("a", "b", 1.3);
+            graph.addWeightedEdge("b", "c", 2.6);
+            double expected = storage == CostStorage.INTEGER ? 4
+                    : storage == CostStorage.FLOAT ? (double) 1.3f + 2.6f
+                    : 1.3 + 2.6;
+
+            assertEquals(storage.name(), expected,
+                    graph.minimumCostPath("a", "c"), 0);
+            DijkstraSnapshot snapshot = graph.freeze();
+            assertEquals(storage, snapshot.costStorage());
+            assertEquals(storage.name(), expected,
+                    snapshot.minimumCostPath("a", "c"), 0);
+            assertEquals(storage.name(), expected, snapshot.reverse()
+                    .minimumCostPath("c", "a"), 0);
+        }
+    }
+
+    @Test
+    public void testDecreaseEdgeCostWithCostStorage() {
+        DijkstraGraph graph = new DijkstraGraph(CostStorage.FLOAT);
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addVertex("c");
+        graph.addWeightedEdge("a", "b", 1.3);
+        graph.addWeightedEdge("b", "c", 2.6);
+        graph.addWeightedEdge("a", "c", 5);
+        assertEquals((double) 1.3f + 2.6f, graph.minimumCostPath("a", "c"),
+                0);
+
+        graph.decreaseEdgeCost("a", "c", 1.1);
+        assertEquals((double) 1.1f, graph.minimumCostPath("a", "c"), 0);
+        assertEquals((double) 1.1f, graph.freeze().reverse()
+                .minimumCostPath("c", "a"), 0);
+    }
+
+    @Test(expected = GraphException.class)
+    public void testIntegerCostStorageForLargeCost() {
+        DijkstraGraph graph = new DijkstraGraph(CostStorage.INTEGER);
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addWeightedEdge("a", "b", 1e10);
+    }
+
+    @Test
+    public void testSearchListener() {
+        DijkstraGraph graph = DijkstraSnapshotTest.complexGraph();
+        final List<SearchMetrics> metrics = new ArrayList<SearchMetrics>();
+        graph.setSearchListener(new SearchListener() {
+            public void searched(SearchMetrics m) {
+                metrics.add(m);
+            }
+        });
+
+        graph.minimumCosts("a", SearchStrategy.BINARY_HEAP);
+        graph.minimumCosts("a", SearchStrategy.DARY_HEAP);
+        assertEquals(2, metrics.size());
+        for (SearchMetrics m : metrics) {
+            assertEquals(7, m.settled());
+            assertEquals(12, m.relaxations());
+            assertTrue(m.nanos() >= 0);
+        }
+        SearchMetrics lazy = metrics.get(0);
+        assertEquals(SearchStrategy.BINARY_HEAP, lazy.strategy());
+        assertEquals(lazy.settled() + lazy.stalePops(), lazy.pushes());
+        assertEquals(7, metrics.get(1).pushes());
+        assertEquals(0, metrics.get(1).stalePops());
+
+        SearchHistograms histograms = new SearchHistograms();
+        graph.setSearchListener(histograms);
+        graph.minimumCostPath("a", "g", SearchStrategy.PAIRING_HEAP);
+        graph.minimumCostPath("a", "b", SearchStrategy.PAIRING_HEAP);
+        graph.setSearchListener(null);
+        graph.minimumCostPath("a", "c", SearchStrategy.PAIRING_HEAP);
+        assertEquals(2, histograms.settled().count());
+        assertEquals(2, metrics.size());
+    }
+
+    @Test
+    public void testSearchListenerAfterFreeze() {
+        DijkstraGraph graph = DijkstraSnapshotTest.complexGraph();
+        final List<SearchMetrics> metrics = new ArrayList<SearchMetrics>();
+        graph.setSearchListener(new SearchListener() {
+            public void searched(SearchMetrics m) {
+                metrics.add(m);
+            }
+        });
+        graph.freeze();
+
+        graph.minimumCosts("a", SearchStrategy.DARY_HEAP);
+        assertEquals(1, metrics.size());
+        assertEquals(7, metrics.get(0).settled());
+        assertEquals(12, metrics.get(0).relaxations());
+        graph.shortestPath("a", "g");
+        graph.multiSourceCosts(new String[]{"c", "e"});
+        graph.minimumCostMatrix(new String[]{"a", "b"}, new String[]{"g"});
+        assertEquals(5, metrics.size());
+
+        graph.setSearchListener(null);
+        graph.minimumCostPath("a", "g");
+        assertEquals(5, metrics.size());
+    }
+
+    // Build a random graph with given number of vertices and edges.
+    static DijkstraGraph randomGraph(int n, int m, Random random) {
+        DijkstraGraph graph = new DijkstraGraph();
+        for (int i = 0; i < n; i++) {
+            graph.addVertex("v" + i);
+        }
+        while (m > 0) {
+            String tail = "v" + random.nextInt(n);
+            String head = "v" + random.nextInt(n);
+            if (!graph.containsEdge(tail, head)) {
+                graph.addWeightedEdge(tail, head, 1 + random.nextInt(100));
+                m--;
+            }
+        }
+        return graph;
+    }
 }
@@ -0,0 +1,331 @@
+package com.github.hubbards.algorithms.graph;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class is a simple test suite for {@link DijkstraSnapshot}.
+ *
+ * @author Spencer Hubbard
+ */
+public class DijkstraSnapshotTest {
+    private static final double DELTA = 0.001;
+
+    @Test
+    public void testMinimumCostPathForComplexGraph() {
+        DijkstraSnapshot snapshot = complexGraph().freeze();
+
+        assertEquals(7, snapshot.vertexCount());
+        assertEquals(12, snapshot.edgeCount());
+        assertEquals(5, snapshot.minimumCostPath("a", "g"), DELTA);
+        assertEquals(0, snapshot.minimumCostPath("a", "a"), DELTA);
+    }
+
+    @Test
+    public void testMinimumCostPathForEachStrategy() {
+        DijkstraSnapshot snapshot = complexGraph().freeze();
+
+        for (SearchStrategy strategy : SearchStrategy.values()) {
+            assertEquals(strategy.name(), 5,
+                    snapshot.minimumCostPath("a", "g", strategy), DELTA);
+            assertEquals(strategy.name(), 7,
+                    snapshot.minimumCostPath("b", "g", strategy), DELTA);
+        }
+    }
+
+    @Test
+    public void testMinimumCostPathRepeated() {
+        DijkstraSnapshot snapshot = complexGraph().freeze();
+
+        // bookkeeping fields from previous queries are reset
+        for (int i = 0; i < 3; i++) {
+            assertEquals(5, snapshot.minimumCostPath("a", "g"), DELTA);
+            assertEquals(DijkstraGraph.INFINITY,
+                    snapshot.minimumCostPath("g", "a"), DELTA);
+            assertEquals(2, snapshot.minimumCostPath("c", "d"), DELTA);
+        }
+    }
+
+    @Test
+    public void testMinimumCostPathForUnreachableVertex() {
+        DijkstraSnapshot snapshot = complexGraph().freeze();
+
+        assertEquals(DijkstraGraph.INFINITY,
+                snapshot.minimumCostPath("g", "a"), DELTA);
+    }
+
+    @Test
+    public void testMinimumCostPathWithEuclideanHeuristic() {
+        // vertices on a line with costs equal to distances
+        DijkstraGraph graph = new DijkstraGraph();
+        double[] x = new double[5];
+        double[] y = new double[5];
+        for (int i = 0; i < 5; i++) {
+            graph.addVertex("v" + i);
+            x[graph.indexOf("v" + i)] = i;
+        }
+        for (int i = 0; i < 4; i++) {
+            graph.addWeightedEdge("v" + i, "v" + (i + 1), 1);
+        }
+        graph.addWeightedEdge("v0", "v4", 5);
+        Heuristic heuristic = new EuclideanHeuristic(x, y, 1);
+        graph.freeze();
+
+        assertEquals(4, graph.minimumCostPath("v0", "v4", heuristic), DELTA);
+        assertEquals(DijkstraGraph.INFINITY,
+                graph.minimumCostPath("v4", "v0", heuristic), DELTA);
+    }
+
+    @Test
+    public void testIndexOfAndNameOf() {
+        DijkstraSnapshot snapshot = complexGraph().freeze();
+
+        for (String name : new String[]{"a", "b", "c", "d", "e", "f", "g"}) {
+            assertEquals(name, snapshot.nameOf(snapshot.indexOf(name)));
+        }
+        assertEquals(5, snapshot.minimumCostPath(
+                snapshot.indexOf("a"), snapshot.indexOf("g")), DELTA);
+    }
+
+    @Test(expected = GraphException.class)
+    public void testIndexOfMissingVertex() {
+        complexGraph().freeze().indexOf("z");
+    }
+
+    // Build a graph with a known minimum cost path from a to g.
+    static DijkstraGraph complexGraph() {
+        DijkstraGraph graph = new DijkstraGraph();
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addVertex("c");
+        graph.addVertex("d");
+        graph.addVertex("e");
+        graph.addVertex("f");
+        graph.addVertex("g");
+        graph.addWeightedEdge("a", "b", 2);
+        graph.addWeightedEdge("a", "c", 4);
+        graph.addWeightedEdge("a", "d", 1);
+        graph.addWeightedEdge("b", "d", 3);
+        graph.addWeightedEdge("b", "e", 10);
+        graph.addWeightedEdge("c", "d", 2);
+        graph.addWeightedEdge("c", "f", 5);
+        graph.addWeightedEdge("d", "e", 7);
+        graph.addWeightedEdge("d", "f", 8);
+        graph.addWeightedEdge("d", "g", 4);
+        graph.addWeightedEdge("e", "g", 6);
+        graph.addWeightedEdge("f", "g", 1);
+        return graph;
+    }
+
+    @Test
+    public void testMinimumCostsForEachStrategy() {
+        DijkstraSnapshot snapshot = complexGraph().freeze();
+        double[] expected = {0, 2, 4, 1, 8, 9, 5};
+
+        for (SearchStrategy strategy : SearchStrategy.values()) {
+            double[] costs = snapshot.minimumCosts(snapshot.indexOf("a"), strategy);
+            for (String name : new String[]{"a", "b", "c", "d", "e", "f", "g"}) {
+                int id = snapshot.indexOf(name);
+                assertEquals(expected[name.charAt(0) - 'a'], costs[id], DELTA);
+            }
+        }
+    }
+
+    @Test
+    public void testMinimumCostMatrix() {
+        int n = 300;
+        DijkstraSnapshot snapshot = DijkstraGraphTest.randomGraph(n, 1200,
+                new Random(8)).freeze();
+        Random random = new Random(9);
+        int[] sources = new int[40];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = random.nextInt(n);
+        }
+        int[] targets = new int[60];
+        for (int j = 0; j < targets.length; j++) {
+            targets[j] = random.nextInt(n);
+        }
+
+        double[][] matrix = snapshot.minimumCostMatrix(sources, targets);
+        assertEquals(sources.length, matrix.length);
+        for (int i = 0; i < sources.length; i++) {
+            double[] costs = snapshot.minimumCosts(sources[i]);
+            for (int j = 0; j < targets.length; j++) {
+                assertEquals(costs[targets[j]], matrix[i][j], 0);
+            }
+        }
+    }
+
+    @Test
+    public void testMinimumCostMatrixForGraph() {
+        DijkstraGraph graph = complexGraph();
+        graph.freeze();
+        double[][] matrix = graph.minimumCostMatrix(new String[]{"a", "c"},
+                new String[]{"g", "a", "f"});
+
+        assertArrayEquals(new double[]{5, 0, 9}, matrix[0], DELTA);
+        assertArrayEquals(new double[]{6, DijkstraGraph.INFINITY, 5},
+                matrix[1], DELTA);
+    }
+
+    @Test
+    public void testShortestPath() {
+        DijkstraSnapshot snapshot = complexGraph().freeze();
+
+        ShortestPath path = snapshot.shortestPath("a", "g");
+        assertTrue(path.exists());
+        assertEquals(5, path.cost(), DELTA);
+        assertEquals(3, path.length());
+        assertEquals(Arrays.asList("a", "d", "g"), path.names());
+        assertArrayEquals(new int[]{snapshot.indexOf("a"),
+                snapshot.indexOf("d"), snapshot.indexOf("g")}, path.ids());
+
+        path = snapshot.shortestPath(snapshot.indexOf("c"),
+                snapshot.indexOf("c"), path);
+        assertEquals(0, path.cost(), DELTA);
+        assertEquals(Arrays.asList("c"), path.names());
+
+        path = snapshot.shortestPath(snapshot.indexOf("g"),
+                snapshot.indexOf("a"), path);
+        assertFalse(path.exists());
+        assertEquals(DijkstraGraph.INFINITY, path.cost(), DELTA);
+        assertEquals(0, path.length());
+    }
+
+    @Test
+    public void testShortestPathOnRandomGraph() {
+        int n = 200;
+        DijkstraSnapshot snapshot = DijkstraGraphTest.randomGraph(n, 800,
+                new Random(12)).freeze();
+        Random random = new Random(13);
+        ShortestPath path = new ShortestPath();
+        for (int q = 0; q < 100; q++) {
+            int source = random.nextInt(n);
+            int target = random.nextInt(n);
+            snapshot.shortestPath(source, target, path);
+            assertEquals(snapshot.minimumCostPath(source, target),
+                    path.cost(), DELTA);
+            if (path.exists()) {
+                // cost of each edge is cost of path between its end-points
+                assertEquals(source, path.id(0));
+                assertEquals(target, path.id(path.length() - 1));
+                double cost = 0;
+                for (int i = 1; i < path.length(); i++) {
+                    cost += snapshot.minimumCostPath(path.id(i - 1),
+                            path.id(i));
+                }
+                assertEquals(path.cost(), cost, DELTA);
+            }
+        }
+    }
+
+    @Test
+    public void testMultiSourceCosts() {
+        DijkstraGraph graph = complexGraph();
+        graph.freeze();
+        double[] costs = graph.multiSourceCosts(new String[]{"c", "e"});
+        double[] expected = {DijkstraGraph.INFINITY, DijkstraGraph.INFINITY,
+                0, 2, 0, 5, 6};
+
+        for (String name : new String[]{"a", "b", "c", "d", "e", "f", "g"}) {
+            assertEquals(expected[name.charAt(0) - 'a'],
+                    costs[graph.indexOf(name)], DELTA);
+        }
+    }
+
+    @Test
+    public void testNearestWithinRadius() {
+        DijkstraSnapshot snapshot = complexGraph().freeze();
+        final List<String> visited = new ArrayList<String>();
+        final List<Double> costs = new ArrayList<Double>();
+        snapshot.nearest(new int[]{snapshot.indexOf("a")}, 4,
+                Integer.MAX_VALUE, new VertexVisitor() {
+                    public void visit(int id, double cost) {
+                        visited.add(snapshot.nameOf(id));
+                        costs.add(cost);
+                    }
+                });
+
+        assertEquals(Arrays.asList("a", "d", "b", "c"), visited);
+        assertEquals(Arrays.asList(0.0, 1.0, 2.0, 4.0), costs);
+    }
+
+    @Test
+    public void testNearestWithLimitOnRandomGraph() {
+        int n = 300;
+        final DijkstraSnapshot snapshot = DijkstraGraphTest.randomGraph(n,
+                1200, new Random(16)).freeze();
+        int source = 17;
+        double[] expected = snapshot.minimumCosts(source);
+        final double[] previous = {0};
+        final int[] count = {0};
+        snapshot.nearest(new int[]{source}, DijkstraGraph.INFINITY, 50,
+                new VertexVisitor() {
+                    public void visit(int id, double cost) {
+                        assertTrue(cost >= previous[0]);
+                        previous[0] = cost;
+                        count[0]++;
+                    }
+                });
+
+        assertEquals(50, count[0]);
+        // visited vertices are the closest ones
+        int closer = 0;
+        for (double cost : expected) {
+            if (cost < previous[0]) {
+                closer++;
+            }
+        }
+        assertTrue(closer < 50);
+    }
+
+    @Test
+    public void testNearestWithQueryOfReverseSnapshot() {
+        final DijkstraSnapshot snapshot = complexGraph().freeze();
+        final DijkstraSnapshot reverse = snapshot.reverse();
+        final int source = snapshot.indexOf("a");
+        final List<String> visited = new ArrayList<String>();
+        snapshot.nearest(new int[]{source}, 4, Integer.MAX_VALUE,
+                new VertexVisitor() {
+                    public void visit(int id, double cost) {
+                        // reverse snapshot has search state of its own
+                        assertEquals(cost, reverse.minimumCostPath(id, source),
+                                DELTA);
+                        visited.add(snapshot.nameOf(id));
+                    }
+                });
+
+        assertEquals(Arrays.asList("a", "d", "b", "c"), visited);
+    }
+
+    @Test
+    public void testShortestPathOfGraphWhichIsNotFrozen() {
+        DijkstraGraph graph = complexGraph();
+        graph.freeze();
+        graph.addVertex("h");
+        graph.addWeightedEdge("g", "h", 2);
+        assertFalse(graph.isFrozen());
+
+        ShortestPath path = graph.shortestPath("a", "h");
+        assertFalse(graph.isFrozen());
+        assertEquals(7, path.cost(), DELTA);
+        assertEquals(Arrays.asList("a", "d", "g", "h"), path.names());
+
+        // result is reused by next query
+        assertSame(path, graph.shortestPath("c", "f", path));
+        assertEquals(5, path.cost(), DELTA);
+        assertEquals(Arrays.asList("c", "f"), path.names());
+        assertFalse(graph.shortestPath("g", "a", path).exists());
+
+        // frozen graph gives same path
+        graph.freeze();
+        assertEquals(Arrays.asList("a", "d", "g", "h"),
+                graph.shortestPath("a", "h", path).names());
+    }
+}
@@ -0,0 +1,110 @@
+package com.github.hubbards.algorithms.graph;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class is a simple test suite for {@link SequentialDisjointSet} and
+ * {@link ConcurrentDisjointSet}.
+ *
+ * @author Spencer Hubbard
+ */
+public class DisjointSetTest {
+    @Test
+    public void testUnionForSequentialDisjointSet() {
+        testUnion(new SequentialDisjointSet(6));
+    }
+
+    @Test
+    public void testUnionForConcurrentDisjointSet() {
+        testUnion(new ConcurrentDisjointSet(6));
+    }
+
+    @Test
+    public void testClearForSequentialDisjointSet() {
+        testClear(new SequentialDisjointSet(4));
+    }
+
+    @Test
+    public void testClearForConcurrentDisjointSet() {
+        testClear(new ConcurrentDisjointSet(4));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testFindForIllegalIndex() {
+        new SequentialDisjointSet(4).find(4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnionAllForDifferentLengths() {
+        new ConcurrentDisjointSet(4).unionAll(new int[2], new int[3]);
+    }
+
+    @Test
+    public void testUnionAllAgrees() {
+        // enough pairs to split work between tasks
+        int n = 50000;
+        int m = 40000;
+        Random random = new Random(23);
+        int[] indices1 = new int[m];
+        int[] indices2 = new int[m];
+        for (int i = 0; i < m; i++) {
+            indices1[i] = random.nextInt(n);
+            indices2[i] = random.nextInt(n);
+        }
+        DisjointSet sets1 = new SequentialDisjointSet(n);
+        ConcurrentDisjointSet sets2 = new ConcurrentDisjointSet(n);
+        int unions1 = sets1.unionAll(indices1, indices2);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        int unions2;
+        try {
+            unions2 = sets2.unionAll(indices1, indices2, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(unions1, unions2);
+        assertEquals(n - unions1, sets1.componentCount());
+        assertEquals(sets1.componentCount(), sets2.componentCount());
+        for (int i = 0; i < 1000; i++) {
+            int index1 = random.nextInt(n);
+            int index2 = random.nextInt(n);
+            assertEquals(sets1.connected(index1, index2),
+                    sets2.connected(index1, index2));
+        }
+    }
+
+    // Check unions of given partition of six indices.
+    private static void testUnion(DisjointSet sets) {
+        assertEquals(6, sets.size());
+        assertEquals(6, sets.componentCount());
+        assertTrue(sets.union(0, 1));
+        assertTrue(sets.union(2, 3));
+        assertTrue(sets.union(1, 3));
+        assertFalse(sets.union(0, 2));
+        assertEquals(3, sets.componentCount());
+        assertTrue(sets.connected(0, 3));
+        assertFalse(sets.connected(0, 4));
+        assertEquals(sets.find(0), sets.find(2));
+        assertEquals(4, sets.find(4));
+        assertEquals(2, sets.unionAll(new int[]{4, 5, 0},
+                new int[]{5, 3, 1}));
+        assertEquals(1, sets.componentCount());
+    }
+
+    // Check clear of given partition of four indices.
+    private static void testClear(DisjointSet sets) {
+        sets.union(0, 1);
+        sets.union(2, 3);
+        assertEquals(2, sets.componentCount());
+        sets.clear();
+        assertEquals(4, sets.componentCount());
+        assertFalse(sets.connected(0, 1));
+        assertTrue(sets.union(1, 2));
+        assertTrue(sets.connected(1, 2));
+    }
+}
@@ -0,0 +1,51 @@
+package com.github.hubbards.algorithms.graph;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class is a simple test suite for {@link Histogram}.
+ *
+ * @author Spencer Hubbard
+ */
+public class HistogramTest {
+    private static final double DELTA = 0.001;
+
+    @Test
+    public void testEmpty() {
+        Histogram histogram = new Histogram();
+
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.max());
+        assertEquals(0, histogram.mean(), DELTA);
+        assertEquals(0, histogram.quantile(0.5));
+    }
+
+    @Test
+    public void testRecord() {
+        Histogram histogram = new Histogram();
+        for (long value : new long[]{0, 1, 2, 3, 4, 100, 1000}) {
+            histogram.record(value);
+        }
+
+        assertEquals(7, histogram.count());
+        assertEquals(1110, histogram.sum());
+        assertEquals(1000, histogram.max());
+        assertEquals(1110.0 / 7, histogram.mean(), DELTA);
+        assertEquals(1, histogram.bucketCount(0));
+        assertEquals(1, histogram.bucketCount(1));
+        assertEquals(2, histogram.bucketCount(2));
+        assertEquals(1, histogram.bucketCount(3));
+        assertEquals(1, histogram.bucketCount(7));
+        assertEquals(1, histogram.bucketCount(10));
+        assertEquals(0, histogram.quantile(0));
+        assertEquals(3, histogram.quantile(0.5));
+        assertEquals(1000, histogram.quantile(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRecordNegative() {
+        new Histogram().record(-1);
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.hubbards.algorithms.graph;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class is a simple test suite for {@link IndexedHeap} implementations.
+ *
+ * @author Spencer Hubbard
+ */
+public class IndexedHeapTest {
+    private static final int CAPACITY = 64;
+
+    @Test
+    public void testPairingHeap() {
+        testHeap(new PairingHeap(CAPACITY));
+    }
+
+    @Test
+    public void testDaryHeap() {
+        testHeap(new DaryHeap(CAPACITY, DaryHeap.DEFAULT_ARITY));
+    }
+
+    @Test
+    public void testBinaryHeap() {
+        testHeap(new DaryHeap(CAPACITY, 2));
+    }
+
+    // Compare given heap with a brute force heap under random operations.
+    private static void testHeap(IndexedHeap heap) {
+        Random random = new Random(0);
+        double[] keys = new double[CAPACITY];
+        boolean[] member = new boolean[CAPACITY];
+        for (int op = 0; op < 10000; op++) {
+            int id = random.nextInt(CAPACITY);
+            switch (random.nextInt(4)) {
+                case 0:
+                    if (!member[id]) {
+                        keys[id] = random.nextInt(1000);
+                        member[id] = true;
+                        heap.add(id, keys[id]);
+                    }
+                    break;
+                case 1:
+                    if (member[id]) {
+                        keys[id] -= random.nextInt(100);
+                        heap.decreaseKey(id, keys[id]);
+                    }
+                    break;
+                case 2:
+                    int min = -1;
+                    for (int i = 0; i < CAPACITY; i++) {
+                        if (member[i] && (min < 0 || keys[i] < keys[min])) {
+                            min = i;
+                        }
+                    }
+                    assertEquals(min < 0, heap.isEmpty());
+                    if (min >= 0) {
+                        int polled = heap.poll();
+                        assertEquals(keys[min], keys[polled], 0);
+                        member[polled] = false;
+                    }
+                    break;
+                default:
+                    if (random.nextInt(50) == 0) {
+                        heap.clear();
+                        member = new boolean[CAPACITY];
+                    }
+                    break;
+            }
+            assertEquals(member[id], heap.contains(id));
+        }
+    }
+}
@@ -2,6 +2,10 @@ package com.github.hubbards.algorithms.graph;
 
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
 import static org.junit.Assert.*;
 
 
@@ -40,4 +44,183 @@ public class KruskalGraphTest {
 
         assertEquals(16, graph.minimumSpanningTreeCost(), DELTA);
     }
+
+    @Test
+    public void testMinimumSpanningForestForDisconnectedGraph() {
+        KruskalGraph graph = new KruskalGraph();
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addVertex("c");
+        graph.addVertex("d");
+        graph.addVertex("e");
+        graph.addWeightedEdge("a", "b", 2);
+        graph.addWeightedEdge("b", "c", 3);
+        graph.addWeightedEdge("a", "c", 4);
+        graph.addWeightedEdge("d", "e", 1);
+
+        SpanningForest forest = graph.minimumSpanningForest();
+        assertEquals(6, forest.cost(), DELTA);
+        assertEquals(5, forest.vertexCount());
+        assertEquals(3, forest.edgeCount());
+        assertEquals(2, forest.componentCount());
+        assertFalse(forest.isConnected());
+        assertFalse(graph.isConnected());
+        double[] costs = forest.costs();
+        Arrays.sort(costs);
+        assertArrayEquals(new double[]{1, 2, 3}, costs, DELTA);
+        int[] tails = forest.tails();
+        int[] heads = forest.heads();
+        for (int i = 0; i < forest.edgeCount(); i++) {
+            // tree edge is edge of graph
+            assertTrue(graph.containsEdge(forest.nameOf(tails[i]),
+                    forest.nameOf(heads[i])));
+        }
+
+        graph.addWeightedEdge("c", "d", 5);
+        assertTrue(graph.isConnected());
+        assertEquals(1, graph.minimumSpanningForest().componentCount());
+    }
+
+    @Test(expected = GraphException.class)
+    public void testMinimumSpanningTreeCostForDisconnectedGraph() {
+        KruskalGraph graph = new KruskalGraph();
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addVertex("c");
+        graph.addWeightedEdge("a", "b", 2);
+
+        graph.minimumSpanningTreeCost();
+    }
+
+    @Test
+    public void testMinimumSpanningTreeCostRepeated() {
+        KruskalGraph graph = new KruskalGraph();
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addVertex("c");
+        graph.addWeightedEdge("a", "b", 2);
+        graph.addWeightedEdge("b", "c", 3);
+        graph.addWeightedEdge("a", "c", 4);
+
+        assertEquals(5, graph.minimumSpanningTreeCost(), DELTA);
+        assertEquals(5, graph.minimumSpanningTreeCost(), DELTA);
+
+        // bookkeeping fields from previous searches are reset
+        graph.addVertex("d");
+        graph.addWeightedEdge("c", "d", 1);
+        assertEquals(6, graph.minimumSpanningTreeCost(), DELTA);
+        assertEquals(6, graph.minimumSpanningTreeCost(), DELTA);
+    }
+
+    @Test
+    public void testMinimumSpanningTreeCostForRandomGraph() {
+        KruskalGraph graph = new KruskalGraph();
+        PrimGraph other = new PrimGraph();
+        PrimGraphTest.randomGraph(graph, other, 300, 2000, new Random(21));
+
+        double expected = other.minimumSpanningTreeCost();
+        assertEquals(expected, graph.minimumSpanningTreeCost(), DELTA);
+        assertEquals(expected, graph.minimumSpanningTreeCost(), DELTA);
+
+        // sorted order of edges is discarded when edge is added
+        graph.addVertex("w");
+        other.addVertex("w");
+        graph.addWeightedEdge("v0", "w", 0.5);
+        other.addWeightedEdge("v0", "w", 0.5);
+        graph.addWeightedEdge("v1", "w", 0.25);
+        other.addWeightedEdge("v1", "w", 0.25);
+        assertEquals(other.minimumSpanningTreeCost(),
+                graph.minimumSpanningTreeCost(), DELTA);
+    }
+
+    @Test
+    public void testFilteredMinimumSpanningTreeCostForSmallGraph() {
+        KruskalGraph graph = new KruskalGraph();
+        PrimGraph other = new PrimGraph();
+        PrimGraphTest.randomGraph(graph, other, 300, 2000, new Random(22));
+
+        assertEquals(other.minimumSpanningTreeCost(),
+                graph.filteredMinimumSpanningTreeCost(), DELTA);
+    }
+
+    @Test
+    public void testFilteredMinimumSpanningTreeCostForLargeGraph() {
+        // enough edges to partition several times
+        KruskalGraph graph = new KruskalGraph();
+        BoruvkaGraph other = new BoruvkaGraph();
+        PrimGraphTest.randomGraph(graph, other, 5000, 50000, new Random(22));
+
+        double expected = graph.minimumSpanningTreeCost();
+        assertEquals(expected, other.minimumSpanningTreeCost(), DELTA);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(expected,
+                    graph.filteredMinimumSpanningTreeCost(pool), DELTA);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(expected, graph.minimumSpanningTreeCost(), DELTA);
+    }
+
+    @Test
+    public void testSortKeepsOrderOfEqualCosts() {
+        Random random = new Random(23);
+        int size = 1000;
+        CostColumn costs = CostColumn.create(CostStorage.DOUBLE, size);
+        int[] ids = new int[size];
+        for (int i = 0; i < size; i++) {
+            // costs span many exponents and repeat
+            costs.set(i, Math.scalb(1 + random.nextInt(4),
+                    random.nextInt(40) - 20));
+            ids[i] = size - 1 - i;
+        }
+
+        int[] sorted = KruskalGraph.sort(costs, ids, size);
+        assertEquals(size, sorted.length);
+        for (int i = 1; i < size; i++) {
+            double previous = costs.get(sorted[i - 1]);
+            double current = costs.get(sorted[i]);
+            assertTrue(previous <= current);
+            if (previous == current) {
+                // ids are given in decreasing order
+                assertTrue(sorted[i - 1] > sorted[i]);
+            }
+        }
+        assertEquals(0, KruskalGraph.sort(costs, ids, 0).length);
+    }
+
+    @Test
+    public void testCostStorage() {
+        for (CostStorage storage : CostStorage.values()) {
+            KruskalGraph graph = new KruskalGraph(storage);
+            graph.addVertex("a");
+            graph.addVertex("b");
+            graph.addVertex("c");
+            graph.addWeightedEdge("a", "b", 1.3);
+            graph.addWeightedEdge("b", "c", 2.6);
+            graph.addWeightedEdge("a", "c", 3.7);
+            double expected = storage == CostStorage.INTEGER ? 4
+                    : storage == CostStorage.FLOAT ? (double) 1.3f + 2.6f
+                    : 1.3 + 2.6;
+
+            assertEquals(storage.name(), expected,
+                    graph.minimumSpanningTreeCost(), 0);
+            assertEquals(storage.name(), expected,
+                    graph.filteredMinimumSpanningTreeCost(), 0);
+            assertEquals(storage.name(), expected,
+                    graph.minimumSpanningForest().cost(), 0);
+        }
+    }
+
+    @Test
+    public void testMinimumSpanningTreeCostForEmptyGraph() {
+        KruskalGraph graph = new KruskalGraph();
+
+        assertEquals(0, graph.minimumSpanningTreeCost(), DELTA);
+        assertEquals(0, graph.filteredMinimumSpanningTreeCost(), DELTA);
+        SpanningForest forest = graph.minimumSpanningForest();
+        assertEquals(0, forest.componentCount());
+        assertEquals(0, forest.cost(), DELTA);
+        assertTrue(graph.isConnected());
+    }
 }
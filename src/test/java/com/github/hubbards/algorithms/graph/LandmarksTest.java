@@ -0,0 +1,82 @@
+package com.github.hubbards.algorithms.graph;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class is a simple test suite for {@link Landmarks}.
+ *
+ * @author Spencer Hubbard
+ */
+public class LandmarksTest {
+    private static final double DELTA = 0.001;
+
+    @Test
+    public void testLowerBound() {
+        DijkstraSnapshot snapshot = DijkstraSnapshotTest.complexGraph()
+                .freeze();
+        Landmarks landmarks = Landmarks.select(snapshot, 3);
+
+        assertEquals(3, landmarks.ids().length);
+        for (int v = 0; v < snapshot.vertexCount(); v++) {
+            double[] costs = snapshot.minimumCosts(v);
+            assertEquals(0, landmarks.lowerBound(v, v), DELTA);
+            for (int t = 0; t < snapshot.vertexCount(); t++) {
+                assertTrue(landmarks.lowerBound(v, t) <= costs[t]);
+            }
+        }
+    }
+
+    @Test
+    public void testMinimumCostPathOnRandomGraph() {
+        int n = 200;
+        DijkstraGraph graph = DijkstraGraphTest.randomGraph(n, 600,
+                new Random(3));
+        DijkstraSnapshot snapshot = graph.freeze();
+        Landmarks landmarks = Landmarks.select(snapshot, 4);
+        Random random = new Random(4);
+        for (int q = 0; q < 100; q++) {
+            int source = random.nextInt(n);
+            int target = random.nextInt(n);
+            assertEquals(snapshot.minimumCostPath(source, target),
+                    snapshot.minimumCostPath(source, target, landmarks),
+                    DELTA);
+        }
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        DijkstraSnapshot snapshot = DijkstraSnapshotTest.complexGraph()
+                .freeze();
+        Landmarks landmarks = Landmarks.of(snapshot, 0, 6);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        landmarks.write(out);
+
+        Landmarks copy = Landmarks.read(
+                new ByteArrayInputStream(out.toByteArray()), snapshot);
+        assertArrayEquals(new int[]{0, 6}, copy.ids());
+        for (int v = 0; v < snapshot.vertexCount(); v++) {
+            for (int t = 0; t < snapshot.vertexCount(); t++) {
+                assertEquals(landmarks.lowerBound(v, t),
+                        copy.lowerBound(v, t), 0);
+            }
+        }
+    }
+
+    @Test(expected = GraphException.class)
+    public void testReadForDifferentSnapshot() throws IOException {
+        DijkstraGraph graph = DijkstraSnapshotTest.complexGraph();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Landmarks.of(graph.freeze(), 0).write(out);
+        graph.addVertex("h");
+
+        Landmarks.read(new ByteArrayInputStream(out.toByteArray()),
+                graph.freeze());
+    }
+}
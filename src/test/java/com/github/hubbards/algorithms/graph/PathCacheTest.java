@@ -0,0 +1,60 @@
+package com.github.hubbards.algorithms.graph;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class is a simple test suite for {@link PathCache}.
+ *
+ * @author Spencer Hubbard
+ */
+public class PathCacheTest {
+    private static final double DELTA = 0.001;
+
+    @Test
+    public void testHitsAndMisses() {
+        DijkstraGraph graph = DijkstraSnapshotTest.complexGraph();
+        PathCache cache = new PathCache(graph, 100, 10);
+
+        assertEquals(5, cache.minimumCostPath("a", "g"), DELTA);
+        assertEquals(5, cache.minimumCostPath("a", "g"), DELTA);
+        assertEquals(9, cache.minimumCostPath("a", "f"), DELTA);
+        double[] costs = cache.minimumCosts("a");
+        costs[0] = -1;
+        assertEquals(0, cache.minimumCosts("a")[0], DELTA);
+        assertEquals(2, cache.hitCount());
+        assertEquals(3, cache.missCount());
+        assertEquals(0, cache.evictionCount());
+    }
+
+    @Test
+    public void testModifyGraph() {
+        DijkstraGraph graph = DijkstraSnapshotTest.complexGraph();
+        PathCache cache = new PathCache(graph, 100, 10);
+        long version = graph.version();
+
+        assertEquals(5, cache.minimumCostPath("a", "g"), DELTA);
+        assertEquals(9, cache.minimumCosts("a")[graph.indexOf("f")], DELTA);
+        graph.addWeightedEdge("a", "f", 2);
+        assertTrue(graph.version() > version);
+        assertEquals(3, cache.minimumCostPath("a", "g"), DELTA);
+        assertEquals(2, cache.minimumCosts("a")[graph.indexOf("f")], DELTA);
+        assertEquals(0, cache.hitCount());
+        assertEquals(0, cache.evictionCount());
+    }
+
+    @Test
+    public void testEviction() {
+        DijkstraGraph graph = DijkstraSnapshotTest.complexGraph();
+        PathCache cache = new PathCache(graph, 2, 1);
+
+        cache.minimumCostPath("a", "b");
+        cache.minimumCostPath("a", "c");
+        cache.minimumCostPath("a", "d");
+        cache.minimumCosts("a");
+        cache.minimumCosts("b");
+        assertEquals(2, cache.evictionCount());
+        assertEquals(0, cache.hitCount());
+    }
+}
@@ -2,6 +2,9 @@ package com.github.hubbards.algorithms.graph;
 
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Random;
+
 import static org.junit.Assert.*;
 
 /**
@@ -16,6 +19,206 @@ public class PrimGraphTest {
 
     @Test
     public void testMinimumSpanningTreeCostForComplexGraph() {
+        PrimGraph graph = complexGraph();
+
+        assertEquals(16, graph.minimumSpanningTreeCost(), DELTA);
+    }
+
+    @Test
+    public void testMinimumSpanningTreeCostForEachStrategy() {
+        PrimGraph graph = complexGraph();
+
+        for (SearchStrategy strategy : new SearchStrategy[]{
+                SearchStrategy.BINARY_HEAP, SearchStrategy.PAIRING_HEAP,
+                SearchStrategy.DARY_HEAP}) {
+            assertEquals(strategy.name(), 16,
+                    graph.minimumSpanningTreeCost(strategy), DELTA);
+        }
+    }
+
+    @Test
+    public void testStrategiesAgreeOnRandomGraph() {
+        PrimGraph graph = new PrimGraph();
+        KruskalGraph other = new KruskalGraph();
+        randomGraph(graph, other, 300, 2000, new Random(18));
+
+        double expected = other.minimumSpanningTreeCost();
+        assertEquals(expected, graph.minimumSpanningTreeCost(), DELTA);
+        assertEquals(expected, graph.minimumSpanningTreeCost(
+                SearchStrategy.PAIRING_HEAP), DELTA);
+        assertEquals(expected, graph.minimumSpanningTreeCost(
+                SearchStrategy.DARY_HEAP), DELTA);
+    }
+
+    @Test
+    public void testMinimumSpanningTreeCostForCompleteGraph() {
+        PrimGraph graph = new PrimGraph();
+        KruskalGraph other = new KruskalGraph();
+        randomGraph(graph, other, 60, 60 * 59 / 2, new Random(19));
+
+        double expected = other.minimumSpanningTreeCost();
+        assertEquals(expected, graph.minimumSpanningTreeCost(), DELTA);
+        assertEquals(expected, graph.minimumSpanningTreeCost(
+                SearchStrategy.BINARY_HEAP), DELTA);
+    }
+
+    @Test
+    public void testMinimumSpanningTreeCostAfterModification() {
+        PrimGraph graph = complexGraph();
+        assertEquals(16, graph.minimumSpanningTreeCost(), DELTA);
+
+        graph.addVertex("h");
+        graph.addWeightedEdge("a", "h", 3);
+
+        assertEquals(19, graph.minimumSpanningTreeCost(), DELTA);
+
+        graph.addWeightedEdge("g", "h", 1);
+
+        assertEquals(16, graph.minimumSpanningTreeCost(), DELTA);
+    }
+
+    @Test
+    public void testMinimumSpanningTreeCostAcrossDensityThreshold() {
+        PrimGraph graph = new PrimGraph();
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addVertex("c");
+        graph.addVertex("d");
+        graph.addVertex("e");
+        graph.addWeightedEdge("a", "b", 1);
+        graph.addWeightedEdge("b", "c", 2);
+        graph.addWeightedEdge("c", "d", 3);
+        graph.addWeightedEdge("d", "e", 4);
+
+        // 4 of 10 pairs joined, so graph is sparse
+        assertEquals(10, graph.minimumSpanningTreeCost(), DELTA);
+        assertFalse(graph.hasMatrix());
+
+        // 5 of 10 pairs joined, so graph is dense
+        graph.addWeightedEdge("a", "e", 1);
+        assertEquals(7, graph.minimumSpanningTreeCost(), DELTA);
+        assertTrue(graph.hasMatrix());
+
+        // matrix is updated in place
+        graph.addWeightedEdge("a", "c", 1);
+        assertTrue(graph.hasMatrix());
+        assertEquals(6, graph.minimumSpanningTreeCost(), DELTA);
+
+        // 7 of 15 pairs joined, so graph is sparse again
+        graph.addVertex("f");
+        graph.addWeightedEdge("e", "f", 2);
+        assertEquals(8, graph.minimumSpanningTreeCost(), DELTA);
+        assertFalse(graph.hasMatrix());
+        assertEquals(8, graph.minimumSpanningTreeCost(
+                SearchStrategy.PAIRING_HEAP), DELTA);
+    }
+
+    @Test
+    public void testMinimumSpanningForestForDisconnectedGraph() {
+        PrimGraph graph = new PrimGraph();
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addVertex("c");
+        graph.addVertex("d");
+        graph.addVertex("e");
+        graph.addWeightedEdge("a", "b", 2);
+        graph.addWeightedEdge("b", "c", 3);
+        graph.addWeightedEdge("a", "c", 4);
+        graph.addWeightedEdge("d", "e", 1);
+
+        SpanningForest forest = graph.minimumSpanningForest();
+        assertEquals(6, forest.cost(), DELTA);
+        assertEquals(5, forest.vertexCount());
+        assertEquals(3, forest.edgeCount());
+        assertEquals(2, forest.componentCount());
+        assertFalse(forest.isConnected());
+        assertFalse(graph.isConnected());
+        double[] costs = forest.costs();
+        Arrays.sort(costs);
+        assertArrayEquals(new double[]{1, 2, 3}, costs, DELTA);
+        int[] tails = forest.tails();
+        int[] heads = forest.heads();
+        for (int i = 0; i < forest.edgeCount(); i++) {
+            // tree edge is edge of graph
+            assertTrue(graph.containsEdge(forest.nameOf(tails[i]),
+                    forest.nameOf(heads[i])));
+        }
+
+        graph.addWeightedEdge("c", "d", 5);
+        assertTrue(graph.isConnected());
+        assertEquals(1, graph.minimumSpanningForest().componentCount());
+    }
+
+    @Test(expected = GraphException.class)
+    public void testMinimumSpanningTreeCostForDisconnectedGraph() {
+        PrimGraph graph = new PrimGraph();
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addVertex("c");
+        graph.addWeightedEdge("a", "b", 2);
+
+        graph.minimumSpanningTreeCost();
+    }
+
+    @Test(expected = GraphException.class)
+    public void testMinimumSpanningTreeCostForDisconnectedDenseGraph() {
+        PrimGraph graph = new PrimGraph();
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addVertex("c");
+        graph.addVertex("d");
+        graph.addWeightedEdge("a", "b", 2);
+        graph.addWeightedEdge("b", "c", 3);
+        graph.addWeightedEdge("a", "c", 4);
+
+        graph.minimumSpanningTreeCost();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMinimumSpanningTreeCostForBidirectional() {
+        complexGraph().minimumSpanningTreeCost(SearchStrategy.BIDIRECTIONAL);
+    }
+
+    @Test
+    public void testMinimumSpanningTreeCostRepeated() {
+        PrimGraph graph = new PrimGraph();
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addVertex("c");
+        graph.addWeightedEdge("a", "b", 2);
+        graph.addWeightedEdge("b", "c", 3);
+        graph.addWeightedEdge("a", "c", 4);
+
+        assertEquals(5, graph.minimumSpanningTreeCost(), DELTA);
+        assertEquals(5, graph.minimumSpanningTreeCost(), DELTA);
+
+        // bookkeeping fields from previous searches are reset
+        graph.addVertex("d");
+        graph.addWeightedEdge("c", "d", 1);
+        assertEquals(6, graph.minimumSpanningTreeCost(), DELTA);
+        assertEquals(6, graph.minimumSpanningTreeCost(), DELTA);
+    }
+
+    @Test
+    public void testIndexedHeapReusedAfterModification() {
+        PrimGraph graph = complexGraph();
+        for (SearchStrategy strategy : new SearchStrategy[]{
+                SearchStrategy.PAIRING_HEAP, SearchStrategy.DARY_HEAP}) {
+            assertEquals(16, graph.minimumSpanningTreeCost(strategy), DELTA);
+            assertEquals(16, graph.minimumSpanningTreeCost(strategy), DELTA);
+        }
+        assertEquals(16, graph.minimumSpanningForest().cost(), DELTA);
+
+        // heap grows with graph
+        graph.addVertex("h");
+        graph.addWeightedEdge("a", "h", 3);
+        assertEquals(19, graph.minimumSpanningTreeCost(
+                SearchStrategy.PAIRING_HEAP), DELTA);
+        assertEquals(19, graph.minimumSpanningForest().cost(), DELTA);
+    }
+
+    // Build graph with seven vertices and twelve edges.
+    static PrimGraph complexGraph() {
         PrimGraph graph = new PrimGraph();
         graph.addVertex("a");
         graph.addVertex("b");
@@ -36,7 +239,85 @@ public class PrimGraphTest {
         graph.addWeightedEdge("d", "g", 4);
         graph.addWeightedEdge("e", "g", 6);
         graph.addWeightedEdge("f", "g", 1);
+        return graph;
+    }
 
-        assertEquals(16, graph.minimumSpanningTreeCost(), DELTA);
+    /*
+     * Add the same random connected graph with given number of vertices and
+     * edges to two given graphs.
+     */
+    static void randomGraph(WeightedGraph graph1, WeightedGraph graph2, int n,
+                            int m, Random random) {
+        for (int i = 0; i < n; i++) {
+            graph1.addVertex("v" + i);
+            graph2.addVertex("v" + i);
+        }
+        for (int i = 1; i < n; i++) {
+            // connect v_i to random earlier vertex
+            String name1 = "v" + random.nextInt(i);
+            double cost = 1 + random.nextInt(1000);
+            graph1.addWeightedEdge(name1, "v" + i, cost);
+            graph2.addWeightedEdge(name1, "v" + i, cost);
+            m--;
+        }
+        while (m > 0) {
+            String name1 = "v" + random.nextInt(n);
+            String name2 = "v" + random.nextInt(n);
+            if (!name1.equals(name2) && !graph1.containsEdge(name1, name2)) {
+                double cost = 1 + random.nextInt(1000);
+                graph1.addWeightedEdge(name1, name2, cost);
+                graph2.addWeightedEdge(name1, name2, cost);
+                m--;
+            }
+        }
+    }
+
+    @Test
+    public void testCostStorage() {
+        for (CostStorage storage : CostStorage.values()) {
+            PrimGraph graph = new PrimGraph(storage);
+            graph.addVertex("a");
+            graph.addVertex("b");
+            graph.addVertex("c");
+            graph.addWeightedEdge("a", "b", 1.3);
+            graph.addWeightedEdge("b", "c", 2.6);
+            graph.addWeightedEdge("a", "c", 3.7);
+            double expected = storage == CostStorage.INTEGER ? 4
+                    : storage == CostStorage.FLOAT ? (double) 1.3f + 2.6f
+                    : 1.3 + 2.6;
+
+            // dense graph is searched in adjacency matrix
+            assertEquals(storage.name(), expected,
+                    graph.minimumSpanningTreeCost(), 0);
+            assertEquals(storage.name(), expected,
+                    graph.minimumSpanningTreeCost(SearchStrategy.BINARY_HEAP),
+                    0);
+            assertEquals(storage.name(), expected,
+                    graph.minimumSpanningForest().cost(), 0);
+        }
+    }
+
+    @Test(expected = GraphException.class)
+    public void testIntegerCostStorageForCostRoundedToZero() {
+        PrimGraph graph = new PrimGraph(CostStorage.INTEGER);
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addWeightedEdge("a", "b", 0.4);
+    }
+
+    @Test
+    public void testMinimumSpanningTreeCostForEmptyGraph() {
+        PrimGraph graph = new PrimGraph();
+
+        assertEquals(0, graph.minimumSpanningTreeCost(), DELTA);
+        for (SearchStrategy strategy : new SearchStrategy[]{
+                SearchStrategy.BINARY_HEAP, SearchStrategy.PAIRING_HEAP,
+                SearchStrategy.DARY_HEAP}) {
+            assertEquals(0, graph.minimumSpanningTreeCost(strategy), DELTA);
+        }
+        SpanningForest forest = graph.minimumSpanningForest();
+        assertEquals(0, forest.componentCount());
+        assertEquals(0, forest.cost(), DELTA);
+        assertTrue(graph.isConnected());
     }
 }
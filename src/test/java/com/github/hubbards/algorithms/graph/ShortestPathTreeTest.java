@@ -0,0 +1,129 @@
+package com.github.hubbards.algorithms.graph;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class is a simple test suite for {@link ShortestPathTree}.
+ *
+ * @author Spencer Hubbard
+ */
+public class ShortestPathTreeTest {
+    private static final double DELTA = 0.001;
+
+    @Test
+    public void testAddEdge() {
+        DijkstraGraph graph = DijkstraSnapshotTest.complexGraph();
+        ShortestPathTree tree = graph.shortestPathTree("a");
+        int f = graph.indexOf("f");
+        int g = graph.indexOf("g");
+
+        assertEquals(graph.indexOf("a"), tree.source());
+        assertEquals(9, tree.cost(f), DELTA);
+        assertEquals(5, tree.cost(g), DELTA);
+        graph.addWeightedEdge("a", "f", 2);
+        assertEquals(2, tree.cost(f), DELTA);
+        assertEquals(3, tree.cost(g), DELTA);
+        assertEquals(f, tree.last(g));
+        assertEquals(graph.indexOf("a"), tree.last(f));
+    }
+
+    @Test
+    public void testAddVertex() {
+        DijkstraGraph graph = DijkstraSnapshotTest.complexGraph();
+        ShortestPathTree tree = graph.shortestPathTree("a");
+
+        graph.addVertex("h");
+        int h = graph.indexOf("h");
+        assertEquals(DijkstraGraph.INFINITY, tree.cost(h), DELTA);
+        assertEquals(-1, tree.last(h));
+        graph.addWeightedEdge("g", "h", 1);
+        assertEquals(6, tree.cost(h), DELTA);
+        assertEquals(8, tree.costs().length);
+    }
+
+    @Test
+    public void testDecreaseEdgeCost() {
+        DijkstraGraph graph = DijkstraSnapshotTest.complexGraph();
+        ShortestPathTree tree = graph.shortestPathTree("b");
+
+        graph.decreaseEdgeCost("b", "e", 1);
+        assertEquals(1, tree.cost(graph.indexOf("e")), DELTA);
+        assertEquals(1, graph.minimumCostPath("b", "e"), DELTA);
+    }
+
+    @Test(expected = GraphException.class)
+    public void testIncreaseEdgeCost() {
+        DijkstraGraph graph = DijkstraSnapshotTest.complexGraph();
+        graph.decreaseEdgeCost("a", "b", 3);
+    }
+
+    @Test
+    public void testRepairOnRandomGraph() {
+        int n = 200;
+        DijkstraGraph graph = DijkstraGraphTest.randomGraph(n, 300,
+                new Random(14));
+        ShortestPathTree[] trees = new ShortestPathTree[5];
+        for (int k = 0; k < trees.length; k++) {
+            trees[k] = graph.shortestPathTree(graph.nameOf(k));
+        }
+        Random random = new Random(15);
+        for (int q = 0; q < 200; q++) {
+            String tail = graph.nameOf(random.nextInt(n));
+            String head = graph.nameOf(random.nextInt(n));
+            if (graph.containsEdge(tail, head)) {
+                graph.decreaseEdgeCost(tail, head, 0);
+            } else {
+                graph.addWeightedEdge(tail, head, 1 + random.nextInt(100));
+            }
+            if (q % 20 == 0) {
+                for (ShortestPathTree tree : trees) {
+                    assertArrayEquals(graph.minimumCosts(
+                            graph.nameOf(tree.source())), tree.costs(), 0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testConcurrentShortestPathTree() throws Exception {
+        final int n = 100;
+        final DijkstraGraph graph = DijkstraGraphTest.randomGraph(n, 400,
+                new Random(17));
+        // build trees from many threads at once
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<ShortestPathTree> trees = new ArrayList<ShortestPathTree>();
+        try {
+            List<Future<ShortestPathTree>> futures =
+                    new ArrayList<Future<ShortestPathTree>>();
+            for (int k = 0; k < 64; k++) {
+                final String name = graph.nameOf(k % n);
+                futures.add(executor.submit(new Callable<ShortestPathTree>() {
+                    public ShortestPathTree call() {
+                        return graph.shortestPathTree(name);
+                    }
+                }));
+            }
+            for (Future<ShortestPathTree> future : futures) {
+                trees.add(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        // every tree is registered and repaired
+        graph.addWeightedEdge(graph.nameOf(0), graph.nameOf(n - 1), 1);
+        for (ShortestPathTree tree : trees) {
+            assertArrayEquals(graph.minimumCosts(
+                    graph.nameOf(tree.source())), tree.costs(), 0);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.github.hubbards.algorithms.graph;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class is a simple test suite for {@link StreamingKruskal}.
+ *
+ * @author Spencer Hubbard
+ */
+public class StreamingKruskalTest {
+    private static final double DELTA = 0.001;
+
+    @Test
+    public void testMinimumSpanningTreeCostForComplexGraph()
+            throws IOException {
+        // vertices a, b, ..., g have indices 0, 1, ..., 6
+        StreamingKruskal engine = new StreamingKruskal(7, 4);
+        try {
+            engine.addEdge(0, 1, 2);
+            engine.addEdge(0, 2, 4);
+            engine.addEdge(0, 3, 1);
+            engine.addEdge(1, 3, 3);
+            engine.addEdge(1, 4, 10);
+            engine.addEdge(2, 3, 2);
+            engine.addEdge(2, 5, 5);
+            engine.addEdge(3, 4, 7);
+            engine.addEdge(3, 5, 8);
+            engine.addEdge(3, 6, 4);
+            engine.addEdge(4, 6, 6);
+            engine.addEdge(5, 6, 1);
+
+            assertEquals(12, engine.edgeCount());
+            assertEquals(2, engine.runCount());
+            assertEquals(16, engine.minimumSpanningTreeCost(), DELTA);
+            // runs are kept until engine is closed
+            assertEquals(16, engine.minimumSpanningTreeCost(), DELTA);
+        } finally {
+            engine.close();
+        }
+        assertEquals(0, engine.runCount());
+    }
+
+    @Test
+    public void testMinimumSpanningTreeCostForRandomGraph()
+            throws IOException {
+        int n = 300;
+        KruskalGraph graph = new KruskalGraph();
+        byte[] edges = randomGraph(graph, n, new Random(24));
+
+        StreamingKruskal engine = new StreamingKruskal(n, 100);
+        try {
+            engine.read(new ByteArrayInputStream(edges));
+
+            assertTrue(engine.runCount() > 10);
+            assertEquals(graph.minimumSpanningTreeCost(),
+                    engine.minimumSpanningTreeCost(), DELTA);
+        } finally {
+            engine.close();
+        }
+    }
+
+    @Test
+    public void testMinimumSpanningTreeCostForMoreRunsThanFanIn()
+            throws IOException {
+        int n = 300;
+        KruskalGraph graph = new KruskalGraph();
+        byte[] edges = randomGraph(graph, n, new Random(64));
+
+        StreamingKruskal engine = new StreamingKruskal(n, 10, null, 4);
+        try {
+            engine.read(new ByteArrayInputStream(edges));
+            assertTrue(engine.runCount() > 4 * 4 * 4);
+
+            double expected = graph.minimumSpanningTreeCost();
+            assertEquals(expected, engine.minimumSpanningTreeCost(), DELTA);
+            // merged runs replace spilled runs, leaving room for current run
+            assertTrue(engine.runCount() <= 3);
+            assertEquals(expected, engine.minimumSpanningTreeCost(), DELTA);
+        } finally {
+            engine.close();
+        }
+        assertEquals(0, engine.runCount());
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadForTruncatedStream() throws IOException {
+        StreamingKruskal engine = new StreamingKruskal(2, 4);
+        engine.read(new ByteArrayInputStream(new byte[]{0, 0, 0, 0, 0}));
+    }
+
+    @Test(expected = EOFException.class)
+    public void testReadForStrayTrailingBytes() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(bytes);
+        data.writeInt(0);
+        data.writeInt(1);
+        data.writeDouble(2);
+        // partial record after complete edge
+        data.writeShort(0);
+        data.close();
+        StreamingKruskal engine = new StreamingKruskal(2, 4);
+        engine.read(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testAddEdgeForIllegalIndex() throws IOException {
+        new StreamingKruskal(2, 4).addEdge(0, 2, 1);
+    }
+
+    @Test(expected = GraphException.class)
+    public void testAddEdgeForLoop() throws IOException {
+        new StreamingKruskal(2, 4).addEdge(1, 1, 1);
+    }
+
+    @Test
+    public void testMinimumSpanningTreeCostForEmptyGraph() throws IOException {
+        StreamingKruskal engine = new StreamingKruskal(0, 4);
+        try {
+            assertEquals(0, engine.minimumSpanningTreeCost(), DELTA);
+        } finally {
+            engine.close();
+        }
+    }
+
+    // Add random connected graph with given number of vertices to given
+    // graph, and return its edges in stream format.
+    private static byte[] randomGraph(KruskalGraph graph, int n,
+                                      Random random) throws IOException {
+        for (int i = 0; i < n; i++) {
+            graph.addVertex("v" + i);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(bytes);
+        for (int i = 1; i < n; i++) {
+            int j = random.nextInt(i);
+            double cost = 1 + random.nextInt(1000);
+            graph.addWeightedEdge("v" + j, "v" + i, cost);
+            data.writeInt(j);
+            data.writeInt(i);
+            data.writeDouble(cost);
+        }
+        for (int k = 0; k < 2000; k++) {
+            int i = random.nextInt(n);
+            int j = random.nextInt(n);
+            if (i != j && !graph.containsEdge("v" + i, "v" + j)) {
+                double cost = 1 + random.nextInt(1000);
+                graph.addWeightedEdge("v" + i, "v" + j, cost);
+                data.writeInt(i);
+                data.writeInt(j);
+                data.writeDouble(cost);
+            }
+        }
+        data.close();
+        return bytes.toByteArray();
+    }
+}